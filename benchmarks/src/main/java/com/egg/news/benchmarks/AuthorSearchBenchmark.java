@@ -0,0 +1,60 @@
+package com.egg.news.benchmarks;
+
+import com.egg.news.dto.AuthorView;
+import com.egg.news.services.AuthorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthorService.searchAuthor by name, which queries the database, and with an empty name,
+ * which is answered from the cached author catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorSearchBenchmark {
+
+    @Param({"NAME", "EMPTY"})
+    public String query;
+
+    @Param({"1000"})
+    public int authors;
+
+    private SeededApplication application;
+    private AuthorService authorService;
+    private String name;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = SeededApplication.start(authors, 0, 1);
+        authorService = application.bean(AuthorService.class);
+        name = "NAME".equals(query) ? "garcia" : "";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public List<AuthorView> searchAuthor() {
+        return authorService.searchAuthor(name);
+    }
+}
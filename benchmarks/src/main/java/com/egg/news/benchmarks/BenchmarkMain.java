@@ -0,0 +1,34 @@
+package com.egg.news.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH command line, writing results as JSON under results/ unless another format or file is given,
+ * so every run leaves a machine-readable baseline to compare against.
+ * Usage: java -jar target/benchmarks.jar [JMH options] [benchmark regex]
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add(0, "-rf");
+            arguments.add(1, "json");
+        }
+        if (!arguments.contains("-rff")) {
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Files.createDirectories(Path.of("results"));
+            arguments.add(0, "-rff");
+            arguments.add(1, "results/jmh-" + timestamp + ".json");
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
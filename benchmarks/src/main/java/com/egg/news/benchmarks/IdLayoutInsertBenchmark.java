@@ -0,0 +1,154 @@
+package com.egg.news.benchmarks;
+
+import com.egg.news.ids.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of random VARCHAR UUID keys against time-ordered BINARY(16) keys, in rows per second,
+ * on a table shaped like news with its (author_id, date) secondary index. The table keeps growing over the
+ * whole trial, so later iterations insert into a large index.
+ * Defaults to an in-memory H2 database; pass a MySQL URL to measure InnoDB, where the clustered index makes
+ * the difference, and the data and index sizes are printed at the end:
+ * -p url=jdbc:mysql://localhost:3306/bench -p user=... -p password=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdLayoutInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int AUTHORS = 50;
+
+    public enum Layout {
+        RANDOM_VARCHAR("VARCHAR(255)") {
+            @Override
+            void bind(PreparedStatement statement, int index, String id) throws SQLException {
+                statement.setString(index, id);
+            }
+
+            @Override
+            String newId() {
+                return UUID.randomUUID().toString();
+            }
+        },
+        ORDERED_BINARY("BINARY(16)") {
+            @Override
+            void bind(PreparedStatement statement, int index, String id) throws SQLException {
+                statement.setBytes(index, UuidV7.toBytes(id));
+            }
+
+            @Override
+            String newId() {
+                return UuidV7.generate();
+            }
+        };
+
+        final String keyType;
+
+        Layout(String keyType) {
+            this.keyType = keyType;
+        }
+
+        abstract void bind(PreparedStatement statement, int index, String id) throws SQLException;
+
+        abstract String newId();
+    }
+
+    @Param({"RANDOM_VARCHAR", "ORDERED_BINARY"})
+    public Layout layout;
+
+    @Param({"jdbc:h2:mem:ids;MODE=MySQL;DATABASE_TO_LOWER=TRUE"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private final String[] authors = new String[AUTHORS];
+    private int inserted;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_news");
+            statement.execute("CREATE TABLE bench_news (id " + layout.keyType + " NOT NULL PRIMARY KEY, author_id "
+                    + layout.keyType + ", date TIMESTAMP, title VARCHAR(255))");
+            statement.execute("CREATE INDEX idx_bench_author_date ON bench_news (author_id, date)");
+        }
+        connection.commit();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors[i] = layout.newId();
+        }
+        insert = connection.prepareStatement("INSERT INTO bench_news (id, author_id, date, title) VALUES (?, ?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        System.out.printf("%n%s: %d rows, data+index bytes %s%n", layout, inserted, indexBytes());
+        insert.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE bench_news");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            layout.bind(insert, 1, layout.newId());
+            layout.bind(insert, 2, authors[inserted % AUTHORS]);
+            insert.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            insert.setString(4, "Title " + inserted++);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    // Data plus index size as reported by InnoDB; not available on H2
+    private String indexBytes() {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE bench_news");
+            try (ResultSet result = statement.executeQuery("SELECT data_length, index_length FROM information_schema.tables "
+                    + "WHERE table_schema = DATABASE() AND table_name = 'bench_news'")) {
+                return result.next() ? result.getLong(1) + "+" + result.getLong(2) : "n/a";
+            }
+        } catch (SQLException e) {
+            return "n/a";
+        }
+    }
+}
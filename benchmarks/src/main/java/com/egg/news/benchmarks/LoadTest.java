@@ -0,0 +1,130 @@
+package com.egg.news.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for comparing the execution modes of a running application:
+ * every client sends a request, waits for the full response, and sends the next one, cycling over the URLs.
+ * Reports throughput and latency percentiles of the measured period, after a warm-up.
+ * <p>
+ * Usage: java -cp target/benchmarks.jar com.egg.news.benchmarks.LoadTest
+ * [--concurrency 400] [--duration 30] [--warmup 10] [--label platform] url...
+ */
+public class LoadTest {
+
+    private record Result(long[] latencies, int count, int errors) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = 400;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        String label = "run";
+        List<URI> urls = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--duration" -> duration = Duration.ofSeconds(Long.parseLong(args[++i]));
+                case "--warmup" -> warmup = Duration.ofSeconds(Long.parseLong(args[++i]));
+                case "--label" -> label = args[++i];
+                default -> urls.add(URI.create(args[i]));
+            }
+        }
+        if (urls.isEmpty()) {
+            System.err.println("Usage: LoadTest [--concurrency n] [--duration s] [--warmup s] [--label name] url...");
+            System.exit(2);
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Result>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int offset = i;
+            futures.add(clients.submit(() -> run(client, urls, offset, start, warmupEnd, end)));
+        }
+        start.countDown();
+
+        long[] latencies = new long[0];
+        int count = 0;
+        int errors = 0;
+        for (Future<Result> future : futures) {
+            Result result = future.get();
+            latencies = Arrays.copyOf(latencies, count + result.count());
+            System.arraycopy(result.latencies(), 0, latencies, count, result.count());
+            count += result.count();
+            errors += result.errors();
+        }
+        clients.shutdown();
+        Arrays.sort(latencies);
+
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("%-10s %11s %8s %10s %10s %10s %10s%n", "mode", "concurrency", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        System.out.printf("%-10s %11d %8d %10.1f %10.1f %10.1f %10.1f%n", label, concurrency, errors, count / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), count == 0 ? 0 : latencies[count - 1] / 1e6);
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, List<URI> urls, int offset, CountDownLatch start, long warmupEnd, long end)
+            throws InterruptedException {
+        long[] latencies = new long[1024];
+        int count = 0;
+        int errors = 0;
+        start.await();
+        for (int i = offset; ; i++) {
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                break;
+            }
+            boolean failed;
+            try {
+                HttpRequest request = HttpRequest.newBuilder(urls.get(i % urls.size())).timeout(Duration.ofSeconds(60)).build();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            }
+            long received = System.nanoTime();
+            // Only requests sent and completed inside the measured window count
+            if (sent < warmupEnd || received > end) {
+                continue;
+            }
+            if (failed) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = received - sent;
+        }
+        return new Result(latencies, count, errors);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,59 @@
+package com.egg.news.benchmarks;
+
+import com.egg.news.services.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.loadUserByUsername, the lookup behind every login, cycling over the seeded users.
+ * The principal cache sits in the authentication provider, so every call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadUserBenchmark {
+
+    @Param({"1000"})
+    public int users;
+
+    private SeededApplication application;
+    private UserService userService;
+    private List<String> emails;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = SeededApplication.start(1, 0, users);
+        userService = application.bean(UserService.class);
+        emails = application.emails();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        next = (next + 1) % emails.size();
+        return userService.loadUserByUsername(emails.get(next));
+    }
+}
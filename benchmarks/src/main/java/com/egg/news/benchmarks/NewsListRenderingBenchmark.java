@@ -0,0 +1,111 @@
+package com.egg.news.benchmarks;
+
+import com.egg.news.dto.CursorPage;
+import com.egg.news.dto.NewsCursor;
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.utils.ExcerptUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thymeleaf rendering of the news list: the table fragment on its own, as the fragment cache renders it
+ * on a miss, and the whole page, at several row counts. Uses the templates of the application
+ * with the same resolver settings as Spring Boot, without a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NewsListRenderingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private SpringTemplateEngine templateEngine;
+    private JakartaServletWebApplication application;
+    private Map<String, Object> tableModel;
+    private String table;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        application = JakartaServletWebApplication.buildApplication(new MockServletContext());
+
+        Random random = new Random(42);
+        List<NewsSummary> news = new ArrayList<>(rows);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < rows; i++) {
+            news.add(new NewsSummary(UUID.randomUUID().toString(), text(random, 6), ExcerptUtils.excerpt(text(random, 60)),
+                    new Date(now - i * 60_000L), UUID.randomUUID().toString(), "Author " + random.nextInt(100)));
+        }
+        NewsSummary last = news.get(news.size() - 1);
+        tableModel = new HashMap<>();
+        tableModel.put("news", news);
+        tableModel.put("page", new CursorPage<>(news, NewsCursor.encode(last.date(), last.id()), null));
+        tableModel.put("csrfPlaceholder", "token");
+        table = renderTable();
+    }
+
+    @Benchmark
+    public String renderTable() {
+        return templateEngine.process("news/news_table", Set.of("table"), context(tableModel));
+    }
+
+    @Benchmark
+    public String renderPage() {
+        return templateEngine.process("news/news_list", context(Map.of("table", table)));
+    }
+
+    private WebContext context(Map<String, Object> variables) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/news/list");
+        return new WebContext(application.buildExchange(request, new MockHttpServletResponse()), Locale.ENGLISH, variables);
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(SeededApplication.VOCABULARY[random.nextInt(SeededApplication.VOCABULARY.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.egg.news.benchmarks;
+
+import com.egg.news.dto.CursorPage;
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.services.NewsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of NewsService.searchNews through each of its branches: title and author, title only,
+ * author only, and neither. Title searches use the inverted index, which is built before measuring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NewsSearchBenchmark {
+
+    public enum Branch { TITLE_AND_AUTHOR, TITLE, AUTHOR, NONE }
+
+    @Param({"TITLE_AND_AUTHOR", "TITLE", "AUTHOR", "NONE"})
+    public Branch branch;
+
+    @Param({"10000"})
+    public int news;
+
+    private SeededApplication application;
+    private NewsService newsService;
+    private String title;
+    private String idAuthor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = SeededApplication.start(100, news, 1);
+        newsService = application.bean(NewsService.class);
+        // Two terms, the second one partial, as typed in the search box
+        boolean byTitle = branch == Branch.TITLE_AND_AUTHOR || branch == Branch.TITLE;
+        boolean byAuthor = branch == Branch.TITLE_AND_AUTHOR || branch == Branch.AUTHOR;
+        title = byTitle ? "economy mark" : "";
+        idAuthor = byAuthor ? application.authorIds().get(0) : "";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public CursorPage<NewsSummary> searchNews() {
+        return newsService.searchNews(title, idAuthor, null, null);
+    }
+}
@@ -0,0 +1,66 @@
+package com.egg.news.benchmarks;
+
+import com.egg.news.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt throughput for a range of costs, on one thread and on every core, to size
+ * news.security.bcrypt.strength and news.security.hashing.concurrency. The bounded encoder on every core
+ * shows the throughput left to logins once hashing is limited to half the cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Pass!12345";
+
+    @Param({"8", "10", "12"})
+    public int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private BoundedPasswordEncoder boundedEncoder;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        boundedEncoder = new BoundedPasswordEncoder(String.valueOf(cost), Duration.ZERO, 0,
+                Integer.MAX_VALUE, Duration.ofMinutes(1));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String encodeAllCores() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String encodeBoundedAllCores() {
+        return boundedEncoder.encode(PASSWORD);
+    }
+}
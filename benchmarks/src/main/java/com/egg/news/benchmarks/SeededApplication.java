@@ -0,0 +1,171 @@
+package com.egg.news.benchmarks;
+
+import com.egg.news.NewsApplication;
+import com.egg.news.entities.Author;
+import com.egg.news.entities.News;
+import com.egg.news.entities.User;
+import com.egg.news.enums.Role;
+import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.repositories.NewsRepository;
+import com.egg.news.repositories.UserRepository;
+import com.egg.news.services.NewsService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The application started against an in-memory H2 database seeded with synthetic authors, news and users.
+ * Data is generated from a fixed seed, so every run and every fork benchmarks the same content.
+ */
+final class SeededApplication implements AutoCloseable {
+
+    // Words titles and bodies are made of; search benchmarks query some of them
+    static final String[] VOCABULARY = {
+            "economy", "markets", "election", "government", "health", "science", "climate", "energy", "football",
+            "technology", "education", "housing", "transport", "budget", "trade", "inflation", "research", "culture",
+            "music", "cinema", "festival", "security", "justice", "court", "parliament", "minister", "city", "region",
+            "water", "storm", "harvest", "industry", "startup", "software", "hospital", "school", "university", "museum",
+            "bridge", "airport", "railway", "tourism", "exports", "taxes", "salaries", "pensions", "police", "weather"
+    };
+
+    private static final String[] FIRST_NAMES = {"Ana", "Bob", "Carla", "David", "Elena", "Franco", "Gloria", "Hugo", "Ines", "Javier"};
+    private static final String[] LAST_NAMES = {"Diaz", "Ross", "Lopez", "Garcia", "Perez", "Gomez", "Ruiz", "Torres", "Vega", "Silva"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final List<String> authorIds = new ArrayList<>();
+    private final List<String> authorNames = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+
+    private SeededApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts the application and seeds its database.
+     *
+     * @param authors The number of authors to create.
+     * @param news    The number of news to create, spread over the authors.
+     * @param users   The number of users to create.
+     * @return The running application.
+     * @throws IOException If the scratch directory for images cannot be created.
+     */
+    static SeededApplication start(int authors, int news, int users) throws IOException {
+        // Command-line arguments, so they take precedence over the application.properties of the application
+        ConfigurableApplicationContext context = SpringApplication.run(NewsApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--server.port=0",
+                "--news.image.storage=DATABASE",
+                "--news.image.storage.root=" + Files.createTempDirectory("news-benchmarks"),
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        SeededApplication application = new SeededApplication(context);
+        application.seed(authors, news, users);
+        return application;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    List<String> authorIds() {
+        return authorIds;
+    }
+
+    List<String> authorNames() {
+        return authorNames;
+    }
+
+    List<String> emails() {
+        return emails;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed(int authorCount, int newsCount, int userCount) {
+        Random random = new Random(42);
+        TransactionTemplate transaction = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        AuthorRepository authorRepository = bean(AuthorRepository.class);
+        NewsRepository newsRepository = bean(NewsRepository.class);
+        UserRepository userRepository = bean(UserRepository.class);
+
+        List<Author> authors = transaction.execute(status -> {
+            List<Author> created = new ArrayList<>();
+            for (int i = 0; i < authorCount; i++) {
+                Author author = new Author();
+                author.setName(FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + " " + i);
+                created.add(author);
+            }
+            return authorRepository.saveAll(created);
+        });
+        authors.forEach(author -> {
+            authorIds.add(author.getId());
+            authorNames.add(author.getName());
+        });
+
+        long now = System.currentTimeMillis();
+        for (int start = 0; start < newsCount; start += BATCH_SIZE) {
+            int from = start;
+            transaction.executeWithoutResult(status -> {
+                List<News> batch = new ArrayList<>();
+                for (int i = from; i < Math.min(from + BATCH_SIZE, newsCount); i++) {
+                    News news = new News();
+                    news.setTitle(words(random, 6));
+                    news.setBody(words(random, 60));
+                    news.setDate(new Date(now - i * 60_000L));
+                    news.setAuthor(authors.get(random.nextInt(authors.size())));
+                    batch.add(news);
+                }
+                newsRepository.saveAll(batch);
+            });
+        }
+
+        // Cheapest cost: users are only looked up, never hashed, by the benchmarks
+        String hash = new BCryptPasswordEncoder(4).encode("Pass!12345");
+        transaction.executeWithoutResult(status -> {
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < userCount; i++) {
+                User user = new User();
+                user.setName("User " + i);
+                user.setEmail("user" + i + "@benchmarks.test");
+                user.setPassword(hash);
+                user.setRole(i == 0 ? Role.ADMIN : Role.USER);
+                users.add(user);
+                emails.add(user.getEmail());
+            }
+            userRepository.saveAll(users);
+        });
+
+        // The index was built at startup, before the seed
+        bean(NewsService.class).buildSearchIndex();
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        return text.toString();
+    }
+}
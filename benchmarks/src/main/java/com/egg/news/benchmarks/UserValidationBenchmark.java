@@ -0,0 +1,69 @@
+package com.egg.news.benchmarks;
+
+import com.egg.news.exceptions.UserInputException;
+import com.egg.news.utils.UserValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserValidationUtil.validateUser on a valid registration and on registrations failing at different checks,
+ * against the regular expression implementation it replaced. Run with -prof gc to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidationBenchmark {
+
+    public enum Input {
+        VALID("Jane Doe", "jane.doe@example.com", "Pass!12345"),
+        INVALID_NAME("J4ne", "jane.doe@example.com", "Pass!12345"),
+        INVALID_PASSWORD("Jane Doe", "jane.doe@example.com", "password12345"),
+        INVALID_EMAIL("Jane Doe", "jane.doe.example.com", "Pass!12345");
+
+        final String name;
+        final String email;
+        final String password;
+
+        Input(String name, String email, String password) {
+            this.name = name;
+            this.email = email;
+            this.password = password;
+        }
+    }
+
+    @Param({"VALID", "INVALID_NAME", "INVALID_PASSWORD", "INVALID_EMAIL"})
+    public Input input;
+
+    @Benchmark
+    public String validateUser() {
+        try {
+            UserValidationUtil.validateUser(input.name, input.email, input.password, input.password);
+            return null;
+        } catch (UserInputException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String validateUserLegacy() {
+        try {
+            LegacyUserValidation.validateUser(input.name, input.email, input.password, input.password);
+            return null;
+        } catch (UserInputException e) {
+            return e.getMessage();
+        }
+    }
+}
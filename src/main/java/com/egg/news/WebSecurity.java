@@ -1,15 +1,19 @@
 package com.egg.news;
 
+import com.egg.news.security.LoginSuccessHandler;
 import com.egg.news.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
@@ -19,15 +23,24 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class WebSecurity {
 
     public final UserService userService;
+    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
 
     @Autowired
-    public WebSecurity(UserService userService) {
+    public WebSecurity(UserService userService, PasswordEncoder passwordEncoder, UserCache userCache) {
         this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
     }
 
+    // UserService also upgrades hashes made with another cost after a successful login
     @Autowired
     public void configureGlobal(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userService).passwordEncoder(new BCryptPasswordEncoder());
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userService);
+        provider.setUserDetailsPasswordService(userService);
+        provider.setUserCache(userCache);
+        auth.authenticationProvider(provider);
     }
 
     /*
@@ -51,11 +64,15 @@ public class WebSecurity {
                         .loginProcessingUrl("/logincheck")
                         .usernameParameter("email")
                         .passwordParameter("password")
-                        .defaultSuccessUrl("/home"))
+                        .successHandler(new LoginSuccessHandler("/home")))
                 .logout(logout -> logout
                         .logoutUrl("/logout")
                         .logoutSuccessUrl("/")
-                        .logoutRequestMatcher(new AntPathRequestMatcher("/logout")));
+                        .logoutRequestMatcher(new AntPathRequestMatcher("/logout")))
+                // Scripts call the import with Basic credentials; it only accepts CSV and NDJSON bodies,
+                // which cross-site forms cannot send, so it needs no CSRF token
+                .httpBasic(Customizer.withDefaults())
+                .csrf(csrf -> csrf.ignoringRequestMatchers("/news/import"));
         return http.build();
     }
 
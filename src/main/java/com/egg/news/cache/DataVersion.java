@@ -0,0 +1,56 @@
+package com.egg.news.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter moved forward after every committed write to news or authors.
+ * Anything derived from that data and tagged with an older version is stale.
+ * The counter restarts with the application, so values exposed outside the process
+ * must be qualified with {@link #epoch()}.
+ */
+@Component
+public class DataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final long epoch = System.currentTimeMillis();
+    // Writes may have happened while the application was down, so the data counts as modified at startup
+    private volatile long lastModified = epoch;
+
+    /**
+     * Returns the time this counter started, which tells versions of different runs apart.
+     *
+     * @return The startup time in milliseconds since the epoch.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the time of the last committed write, or the startup time if there was none since.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns the current data version.
+     *
+     * @return The number of writes committed since startup.
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Moves the data version forward. Call after the write has committed and any
+     * in-memory structure it feeds has been updated.
+     */
+    public void bump() {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+}
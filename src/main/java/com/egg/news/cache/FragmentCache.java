@@ -0,0 +1,179 @@
+package com.egg.news.cache;
+
+import com.egg.news.datasource.ReplicaRoutingDataSource;
+import com.egg.news.dto.CacheStats;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cache of rendered template fragments, such as the tables of the list and search pages.
+ * Each entry remembers the {@link DataVersion} it was rendered at and is re-rendered once the data moves on,
+ * so a hit serves the page without querying or rendering anything. Entries are evicted least recently used
+ * first once their total size goes over the configured budget.
+ * Fragments must not contain per-user data: the CSRF token of their forms is rendered as a placeholder
+ * and filled in for the current request on the way out.
+ */
+@Component
+public class FragmentCache {
+
+    /**
+     * Model variable holding the CSRF placeholder, for fragments containing POST forms.
+     */
+    public static final String CSRF_VARIABLE = "csrfPlaceholder";
+
+    private static final String CSRF_PLACEHOLDER = "__fragment_csrf_token__";
+
+    // Rough per-entry overhead of the map node, entry record and key object
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private record Entry(long version, String html, long weight) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final JakartaServletWebApplication application;
+    private final DataVersion dataVersion;
+    private final long maxWeight;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long weight;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public FragmentCache(ITemplateEngine templateEngine, ServletContext servletContext, DataVersion dataVersion,
+                         @Value("${news.cache.fragments.max-size:16MB}") DataSize maxSize) {
+        this.templateEngine = templateEngine;
+        this.application = JakartaServletWebApplication.buildApplication(servletContext);
+        this.dataVersion = dataVersion;
+        this.maxWeight = maxSize.toBytes();
+    }
+
+    /**
+     * Builds a cache key from the name of a fragment and the request parameters it depends on.
+     *
+     * @param parts The fragment name followed by its parameters; nulls stand for absent parameters.
+     * @return The cache key.
+     */
+    public static String key(String... parts) {
+        StringBuilder key = new StringBuilder();
+        for (String part : parts) {
+            // A separator that cannot come from a form field keeps parameters from running into each other
+            key.append(part != null ? part : "").append('\u0000');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns a rendered fragment, rendering and caching it if the cached copy is missing or stale.
+     *
+     * @param key      Identifies the fragment and every parameter it depends on.
+     * @param template The template holding the fragment.
+     * @param selector The fragment selector inside the template.
+     * @param model    Loads the variables of the fragment; only called on a miss.
+     * @param request  The current request, used to build links and fill in the CSRF token.
+     * @param response The current response.
+     * @return The HTML of the fragment, ready to be inserted unescaped.
+     */
+    public String render(String key, String template, String selector, Supplier<Map<String, Object>> model,
+                         HttpServletRequest request, HttpServletResponse response) {
+        // Captured before loading: a write committed meanwhile leaves this entry already stale
+        long version = dataVersion.current();
+        Entry entry = get(key, version);
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            // Read from the primary: a replica lagging behind the write that moved the version would be cached as current
+            Map<String, Object> variables = new HashMap<>(ReplicaRoutingDataSource.onPrimary(model));
+            variables.put(CSRF_VARIABLE, CSRF_PLACEHOLDER);
+            WebContext context = new WebContext(application.buildExchange(request, response), request.getLocale(), variables);
+            String html = templateEngine.process(template, Set.of(selector), context);
+            entry = new Entry(version, html, ENTRY_OVERHEAD + 2L * (key.length() + html.length()));
+            put(key, entry);
+        }
+        return fillCsrfToken(entry.html(), request);
+    }
+
+    /**
+     * Retrieves the counters of the cache.
+     *
+     * @return The hits, misses and current data version.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), dataVersion.current());
+    }
+
+    /**
+     * Returns the estimated memory held by cached fragments.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry get(String key, long version) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            return entry != null && entry.version() == version ? entry : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(String key, Entry entry) {
+        if (entry.weight() > maxWeight) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.get(key);
+            // Never replace a fragment rendered at a newer version by a slower, older render
+            if (previous != null && previous.version() > entry.version()) {
+                return;
+            }
+            entries.put(key, entry);
+            weight += entry.weight() - (previous != null ? previous.weight() : 0);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (weight > maxWeight && eldest.hasNext()) {
+                weight -= eldest.next().weight();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String fillCsrfToken(String html, HttpServletRequest request) {
+        if (!html.contains(CSRF_PLACEHOLDER)) {
+            return html;
+        }
+        CsrfToken token = (CsrfToken) request.getAttribute(CsrfToken.class.getName());
+        return html.replace(CSRF_PLACEHOLDER, token != null ? token.getToken() : "");
+    }
+}
@@ -0,0 +1,52 @@
+package com.egg.news.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET support for pages built from news and authors.
+ * Validators come from the {@link DataVersion} rather than from hashing the rendered body,
+ * so an unchanged page is answered with 304 before any query runs or any template is rendered.
+ */
+@Component
+public class PageValidators {
+
+    // Pages embed a CSRF token, so browsers may reuse them but shared caches must not
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final DataVersion dataVersion;
+
+    @Autowired
+    public PageValidators(DataVersion dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * Sets the validators of a page built from the current data and checks them against the request.
+     *
+     * @param request The current request.
+     * @return true if the client copy is current and a 304 has been prepared, in which case the handler must return null.
+     */
+    public boolean checkNotModified(ServletWebRequest request) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(etag(request.getRequest()), dataVersion.lastModified());
+    }
+
+    /*
+    Weak, as bodies differ by their masked CSRF token while being equivalent. The session is part of it
+    because a new session means a new CSRF token, which a page cached under the old one would not carry.
+    */
+    private String etag(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        String owner = session != null ? Integer.toHexString(session.getId().hashCode()) : "anonymous";
+        return "W/\"" + Long.toString(dataVersion.epoch(), 36) + "-" + dataVersion.current() + "-" + owner + "\"";
+    }
+}
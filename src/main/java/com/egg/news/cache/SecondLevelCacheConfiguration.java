@@ -0,0 +1,87 @@
+package com.egg.news.cache;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Hibernate second-level cache, kept on the heap by Ehcache through JCache.
+ * Authors and news are cached by ID, and the results of the queries marked cacheable by their IDs.
+ * Entries are updated by Hibernate as entities are written and query results are dropped whenever one of
+ * their tables changes; writes made with plain JDBC must evict what they touch themselves.
+ * Every region is created here with its own size and time to live; a region missing from this list
+ * fails the startup instead of being created unbounded.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfiguration {
+
+    /**
+     * Region of the {@link com.egg.news.entities.Author} entities.
+     */
+    public static final String AUTHOR_REGION = "authors";
+
+    /**
+     * Region of the {@link com.egg.news.entities.News} entities.
+     */
+    public static final String NEWS_REGION = "news";
+
+    /**
+     * Region of the results of cacheable queries.
+     */
+    public static final String QUERY_REGION = "default-query-results-region";
+
+    // Last write of every table, checked before serving a cached query result; must never lose entries
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final int TIMESTAMPS_ENTRIES = 1000;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${news.cache.entities.authors.max-entries:10000}") long authorEntries,
+            @Value("${news.cache.entities.authors.ttl:PT1H}") Duration authorTtl,
+            @Value("${news.cache.entities.news.max-entries:10000}") long newsEntries,
+            @Value("${news.cache.entities.news.ttl:PT10M}") Duration newsTtl,
+            @Value("${news.cache.queries.max-entries:1000}") long queryEntries,
+            @Value("${news.cache.queries.ttl:PT5M}") Duration queryTtl) {
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withClassLoader(getClass().getClassLoader())
+                .withCache(AUTHOR_REGION, region(authorEntries, authorTtl))
+                .withCache(NEWS_REGION, region(newsEntries, newsTtl))
+                .withCache(QUERY_REGION, region(queryEntries, queryTtl))
+                .withCache(TIMESTAMPS_REGION, region(TIMESTAMPS_ENTRIES, null))
+                .build();
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // A manager of its own, so the regions are not shared with anything else using the provider
+        return provider.getCacheManager(URI.create("urn:news:second-level-cache"), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static CacheConfigurationBuilder<Object, Object> region(long maxEntries, Duration ttl) {
+        return CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ttl != null ? ExpiryPolicyBuilder.timeToLiveExpiration(ttl) : ExpiryPolicyBuilder.noExpiration());
+    }
+}
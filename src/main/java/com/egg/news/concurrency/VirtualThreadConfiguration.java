@@ -0,0 +1,66 @@
+package com.egg.news.concurrency;
+
+import org.apache.coyote.ProtocolHandler;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+/**
+ * Execution mode selected with news.threads.mode: "platform" (the default) keeps the Tomcat worker pool,
+ * "virtual" runs every request, and the application task executor, on its own virtual thread.
+ * A slow BCrypt check or blob read then parks a virtual thread instead of holding one of a few hundred
+ * workers; the connection pool remains the bound on concurrent database work.
+ * Virtual threads need Java 21; on older runtimes the platform mode is kept with a warning.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "news.threads.mode", havingValue = "virtual")
+public class VirtualThreadConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnJava(JavaVersion.TWENTY_ONE)
+    static class VirtualThreads {
+
+        VirtualThreads() {
+            logger.info("Handling requests and tasks on virtual threads");
+        }
+
+        // Replaces the worker pool of every connector
+        @Bean
+        public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequests() {
+            return protocolHandler -> protocolHandler.setExecutor(new VirtualThreadExecutor("request-"));
+        }
+
+        // Used by @Async methods and by Spring MVC for asynchronous responses, such as streamed images
+        @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+        public AsyncTaskExecutor applicationTaskExecutor(ObjectProvider<TaskDecorator> taskDecorator) {
+            TaskExecutorAdapter executor = new TaskExecutorAdapter(new VirtualThreadExecutor("task-"));
+            taskDecorator.ifUnique(executor::setTaskDecorator);
+            return executor;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnJava(value = JavaVersion.TWENTY_ONE, range = ConditionalOnJava.Range.OLDER_THAN)
+    static class PlatformThreads {
+
+        PlatformThreads() {
+            logger.warn("news.threads.mode=virtual requires Java 21, running on {}: keeping platform threads",
+                    System.getProperty("java.version"));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.egg.news.controllers;
+
+import com.egg.news.enums.NewsField;
+import com.egg.news.exceptions.UserInputException;
+import com.egg.news.services.NewsApiService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Controller
+@RequestMapping("/api")
+public class ApiController {
+
+    private final NewsApiService newsApiService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ApiController(NewsApiService newsApiService, ObjectMapper objectMapper) {
+        this.newsApiService = newsApiService;
+        this.objectMapper = objectMapper;
+    }
+
+    // List visible news, newest first, with the selected fields; the body is left out unless requested
+    @GetMapping("/news")
+    public void listNews(@RequestParam(required = false) String fields, @RequestParam(required = false) String author,
+                         @RequestParam(required = false) String after, @RequestParam(defaultValue = "20") int limit,
+                         HttpServletResponse response) throws IOException {
+        try {
+            Set<NewsField> selected = NewsField.parse(fields, NewsField.LISTING_DEFAULT);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            newsApiService.writeNewsPage(selected, author, after, limit, response.getOutputStream());
+        } catch (UserInputException e) {
+            writeErrors(response, HttpServletResponse.SC_BAD_REQUEST, e.getViolations());
+        }
+    }
+
+    // Retrieve a visible news article with the selected fields, all of them by default
+    @GetMapping("/news/{id}")
+    public void getNews(@PathVariable String id, @RequestParam(required = false) String fields,
+                        HttpServletResponse response) throws IOException {
+        try {
+            Set<NewsField> selected = NewsField.parse(fields, EnumSet.allOf(NewsField.class));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            if (!newsApiService.writeNews(selected, id, response.getOutputStream())) {
+                writeErrors(response, HttpServletResponse.SC_NOT_FOUND, List.of("News ID not found"));
+            }
+        } catch (UserInputException e) {
+            writeErrors(response, HttpServletResponse.SC_BAD_REQUEST, e.getViolations());
+        }
+    }
+
+    // List authors in creation order
+    @GetMapping("/authors")
+    public void listAuthors(@RequestParam(required = false) String after, @RequestParam(defaultValue = "20") int limit,
+                            HttpServletResponse response) throws IOException {
+        try {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            newsApiService.writeAuthorPage(after, limit, response.getOutputStream());
+        } catch (UserInputException e) {
+            writeErrors(response, HttpServletResponse.SC_BAD_REQUEST, e.getViolations());
+        }
+    }
+
+    // Retrieve an author
+    @GetMapping("/authors/{id}")
+    public void getAuthor(@PathVariable String id, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (!newsApiService.writeAuthor(id, response.getOutputStream())) {
+            writeErrors(response, HttpServletResponse.SC_NOT_FOUND, List.of("Author ID not found"));
+        }
+    }
+
+    // Errors are reported before anything else is written, so the status can still be set
+    private void writeErrors(HttpServletResponse response, int status, List<String> errors) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("errors", errors));
+    }
+}
@@ -1,24 +1,32 @@
 package com.egg.news.controllers;
 
-import com.egg.news.entities.Author;
+import com.egg.news.cache.FragmentCache;
+import com.egg.news.cache.PageValidators;
 import com.egg.news.exceptions.UserInputException;
 import com.egg.news.services.AuthorService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/author")
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final FragmentCache fragmentCache;
+    private final PageValidators pageValidators;
 
     @Autowired
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, FragmentCache fragmentCache, PageValidators pageValidators) {
         this.authorService = authorService;
+        this.fragmentCache = fragmentCache;
+        this.pageValidators = pageValidators;
     }
 
     // Paths for HTML templates
@@ -26,6 +34,7 @@ public class AuthorController {
     private static final String AUTHOR_CREATE_PATH = "./author/author_create.html";
     private static final String AUTHOR_UPDATE_PATH = "./author/author_update.html";
     private static final String AUTHOR_SEARCH_PATH = "./author/author_search.html";
+    private static final String AUTHOR_TABLE_PATH = "author/author_table";
 
     // Method to add success message to the model
     private void addSuccessMessage(ModelMap modelMap, String statusMessage) {
@@ -72,10 +81,14 @@ public class AuthorController {
 
     // Display the list of authors
     @GetMapping("/list")
-    public String getList(ModelMap modelMap) {
-        // Retrieve and add the list of authors to the model
-        List<Author> authors = authorService.listAuthors();
-        modelMap.addAttribute("authors", authors);
+    public String getList(ModelMap modelMap, HttpServletRequest request, HttpServletResponse response, ServletWebRequest webRequest) {
+        // Answer 304 straight away when the client copy is current
+        if (pageValidators.checkNotModified(webRequest)) {
+            return null;
+        }
+        // Retrieve and add the rendered table of authors to the model, rendering it only when the data has changed
+        modelMap.addAttribute("table", fragmentCache.render(FragmentCache.key("author/list"), AUTHOR_TABLE_PATH, "table",
+                () -> Map.of("authors", authorService.listAuthors()), request, response));
         return AUTHOR_LIST_PATH;
     }
 
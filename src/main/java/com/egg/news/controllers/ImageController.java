@@ -1,39 +1,127 @@
 package com.egg.news.controllers;
 
-import com.egg.news.entities.User;
-import com.egg.news.services.UserService;
+import com.egg.news.dto.ImageMetadata;
+import com.egg.news.services.ImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.catalina.Globals;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 @Controller
 @RequestMapping("/image")
 public class ImageController {
 
-    private final UserService userService;
+    private final ImageService imageService;
+    private final CacheControl cacheControl;
 
     @Autowired
-    public ImageController(UserService userService) {
-        this.userService = userService;
+    public ImageController(ImageService imageService, @Value("${news.image.cache-max-age:PT10M}") Duration cacheMaxAge) {
+        this.imageService = imageService;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic().mustRevalidate();
     }
 
+    // Stream the profile image of a user, or its smallest variant covering the requested size,
+    // answering conditional and single byte-range requests
     @GetMapping("/profile/{id}")
-    public ResponseEntity<byte[]> imageUser(@PathVariable String id) {
-        User user = userService.getOne(id);
+    public ResponseEntity<StreamingResponseBody> imageUser(@PathVariable String id, @RequestParam(name = "size", required = false) Integer dimension,
+                                                           @RequestHeader HttpHeaders requestHeaders, HttpServletRequest request) {
+        ImageMetadata image = imageService.getProfileImage(id, dimension).orElse(null);
+        if (image == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Strong validator: the content hash changes whenever the bytes do
+        String etag = "\"" + image.hash() + "\"";
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (ifNoneMatch.contains(etag) || ifNoneMatch.contains("*")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
 
-        byte[] image = user.getImage().getContent();
+        long size = image.size();
+        HttpRange range = singleRange(requestHeaders, etag);
+        if (range == null) {
+            return body(contentResponse(HttpStatus.OK, image, etag), image, 0, size, request);
+        }
 
+        if (size == 0 || !isSatisfiable(range, size)) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                    .build();
+        }
+        long start = range.getRangeStart(size);
+        long end = range.getRangeEnd(size);
+        return body(contentResponse(HttpStatus.PARTIAL_CONTENT, image, etag)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size), image, start, end - start + 1, request);
+    }
 
-        HttpHeaders headers = new HttpHeaders();
+    /*
+    Attaches the content. Files on local disk are handed to the container's sendfile support,
+    which transfers them from the page cache to the socket without passing through the heap;
+    otherwise the storage backend streams them through the response.
+    */
+    private ResponseEntity<StreamingResponseBody> body(ResponseEntity.BodyBuilder response, ImageMetadata image,
+                                                       long offset, long length, HttpServletRequest request) {
+        response.contentLength(length);
+        Path file = imageService.localFile(image).orElse(null);
+        if (file != null && Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, file.toString());
+            request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, offset);
+            request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, offset + length);
+            return response.build();
+        }
+        return response.body(out -> imageService.copyContent(image, offset, length, out));
+    }
 
-        headers.setContentType(MediaType.IMAGE_JPEG);
+    // Headers shared by full and partial content responses
+    private ResponseEntity.BodyBuilder contentResponse(HttpStatus status, ImageMetadata image, String etag) {
+        MediaType mediaType = image.mime() != null ? MediaType.parseMediaType(image.mime()) : MediaType.IMAGE_JPEG;
+        return ResponseEntity.status(status)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(mediaType)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+    }
+
+    /*
+    Returns the requested byte range, or null when the full content should be sent:
+    no Range header, an If-Range that no longer matches, an unparseable header or several ranges.
+    */
+    private HttpRange singleRange(HttpHeaders requestHeaders, String etag) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = requestHeaders.getRange();
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 
-        return new ResponseEntity<>(image, headers, HttpStatus.OK);
+    private boolean isSatisfiable(HttpRange range, long size) {
+        try {
+            long start = range.getRangeStart(size);
+            return start < size && start <= range.getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
     }
 }
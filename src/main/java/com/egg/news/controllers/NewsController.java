@@ -1,16 +1,28 @@
 package com.egg.news.controllers;
 
-import com.egg.news.entities.Author;
-import com.egg.news.entities.News;
+import com.egg.news.cache.FragmentCache;
+import com.egg.news.cache.PageValidators;
+import com.egg.news.dto.AuthorView;
+import com.egg.news.dto.CursorPage;
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.dto.NewsView;
 import com.egg.news.exceptions.UserInputException;
 import com.egg.news.services.AuthorService;
 import com.egg.news.services.NewsService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Controller
 @RequestMapping("/news")
@@ -18,17 +30,24 @@ public class NewsController {
 
     private final NewsService newsService;
     private final AuthorService authorService;
+    private final FragmentCache fragmentCache;
+    private final PageValidators pageValidators;
 
     // Paths for HTML templates
     private static final String NEWS_LIST_PATH = "./news/news_list.html";
     private static final String NEWS_CREATE_PATH = "./news/news_create.html";
     private static final String NEWS_UPDATE_PATH = "./news/news_update.html";
     private static final String NEWS_SEARCH_PATH = "./news/news_search.html";
+    private static final String NEWS_VIEW_PATH = "./news/news_view.html";
+    private static final String NEWS_TABLE_PATH = "news/news_table";
 
     @Autowired
-    public NewsController(AuthorService authorService, NewsService newsService) {
+    public NewsController(AuthorService authorService, NewsService newsService, FragmentCache fragmentCache,
+                          PageValidators pageValidators) {
         this.newsService = newsService;
         this.authorService = authorService;
+        this.fragmentCache = fragmentCache;
+        this.pageValidators = pageValidators;
     }
 
     // Method to add success message to the model
@@ -43,7 +62,7 @@ public class NewsController {
 
     // Method to add the list of authors to the model
     private void addAuthorList(ModelMap modelMap) {
-        List<Author> authors = authorService.listAuthors();
+        List<AuthorView> authors = authorService.listAuthors();
         modelMap.addAttribute("authors", authors);
     }
 
@@ -82,20 +101,56 @@ public class NewsController {
         }
     }
 
-    // Display the list of news
+    // Method to add the rendered table of one page of news to the model; the page is only loaded
+    // when the fragment cache has no current copy of it
+    private void addNewsTable(ModelMap modelMap, String key, Supplier<Map<String, Object>> model,
+                              HttpServletRequest request, HttpServletResponse response) {
+        modelMap.addAttribute("table", fragmentCache.render(key, NEWS_TABLE_PATH, "table", model, request, response));
+    }
+
+    // Variables of the news table for one page of news and its navigation tokens
+    private static Map<String, Object> newsTableModel(CursorPage<NewsSummary> page) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("news", page.items());
+        model.put("page", page);
+        return model;
+    }
+
+    // Display one page of the list of news
     @GetMapping("/list")
-    public String getList(ModelMap modelMap) {
-        // Retrieve and add the list of news to the model
-        List<News> news = newsService.listNews();
-        modelMap.addAttribute("news", news);
+    public String getList(@RequestParam(required = false) String after, @RequestParam(required = false) String before, ModelMap modelMap,
+                          HttpServletRequest request, HttpServletResponse response, ServletWebRequest webRequest) {
+        // Answer 304 straight away when the client copy is current
+        if (pageValidators.checkNotModified(webRequest)) {
+            return null;
+        }
+        // Retrieve and add the requested page of news to the model
+        addNewsTable(modelMap, FragmentCache.key("news/list", after, before),
+                () -> newsTableModel(newsService.listNews(after, before)), request, response);
         return NEWS_LIST_PATH;
     }
 
+    // Unknown and deleted news answer 404 rather than an error page
+    private NewsView visibleNews(String id) {
+        try {
+            return newsService.getOne(id);
+        } catch (UserInputException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    // Display a specific news with its full body, which listings leave out
+    @GetMapping("/view/{id}")
+    public String view(@PathVariable String id, ModelMap modelMap) {
+        modelMap.put("news", visibleNews(id));
+        return NEWS_VIEW_PATH;
+    }
+
     // Display the update form for a specific news
     @GetMapping("/set/{id}")
     public String update(@PathVariable String id, ModelMap modelMap) {
         // Retrieve and add the specific news to the model
-        modelMap.put("news", newsService.getOne(id));
+        modelMap.put("news", visibleNews(id));
         addAuthorList(modelMap);
         return NEWS_UPDATE_PATH;
     }
@@ -111,7 +166,8 @@ public class NewsController {
         } catch (UserInputException e) {
             // Handle exception and display error message
             addErrorMessage(modelMap, e.getMessage());
-            modelMap.put("news", newsService.getOne(id));
+            // An unknown or deleted article answers 404 instead of showing the form again
+            modelMap.put("news", visibleNews(id));
             addAuthorList(modelMap);
             return NEWS_UPDATE_PATH;
         }
@@ -140,9 +196,23 @@ public class NewsController {
 
     // Handle news search
     @GetMapping("/GET")
-    public String search(@RequestParam String title, @RequestParam String idAuthor, ModelMap modelMap) {
-        // Retrieve and add the list of news matching the provided title and author ID to the model
-        modelMap.addAttribute("news", newsService.searchNews(title, idAuthor));
+    public String search(@RequestParam String title, @RequestParam String idAuthor,
+                         @RequestParam(required = false) String after, @RequestParam(required = false) String before, ModelMap modelMap,
+                         HttpServletRequest request, HttpServletResponse response, ServletWebRequest webRequest) {
+        // Answer 304 straight away when the client copy is current
+        if (pageValidators.checkNotModified(webRequest)) {
+            return null;
+        }
+        // Retrieve and add the page of news matching the provided title and author ID to the model
+        addNewsTable(modelMap, FragmentCache.key("news/GET", title, idAuthor, after, before), () -> {
+            Map<String, Object> model = newsTableModel(newsService.searchNews(title, idAuthor, after, before));
+            model.put("search", true);
+            model.put("title", title);
+            model.put("idAuthor", idAuthor);
+            return model;
+        }, request, response);
+        modelMap.addAttribute("title", title);
+        modelMap.addAttribute("idAuthor", idAuthor);
         addAuthorList(modelMap);
         return NEWS_SEARCH_PATH;
     }
@@ -0,0 +1,65 @@
+package com.egg.news.controllers;
+
+import com.egg.news.enums.ExportFormat;
+import com.egg.news.services.NewsExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@Controller
+@RequestMapping("/news")
+public class NewsExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 65536;
+
+    private final NewsExportService newsExportService;
+
+    @Autowired
+    public NewsExportController(NewsExportService newsExportService) {
+        this.newsExportService = newsExportService;
+    }
+
+    // Export every visible news article as NDJSON or CSV, written to the response as it is read,
+    // and compressed when the client accepts gzip
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportNews(@RequestParam(name = "format", defaultValue = "ndjson") String formatName,
+                           @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                           HttpServletResponse response) throws IOException {
+        ExportFormat format;
+        try {
+            format = ExportFormat.valueOf(formatName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format, use ndjson or csv");
+            return;
+        }
+        response.setContentType(format.getMediaType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("news-" + LocalDate.now() + "." + format.getExtension())
+                .build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        if (!gzip) {
+            newsExportService.export(format, response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        try (OutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)) {
+            newsExportService.export(format, out);
+        }
+    }
+}
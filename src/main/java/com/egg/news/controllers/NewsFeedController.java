@@ -0,0 +1,94 @@
+package com.egg.news.controllers;
+
+import com.egg.news.enums.FeedFormat;
+import com.egg.news.feeds.NewsFeeds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+@Controller
+@RequestMapping("/feeds")
+public class NewsFeedController {
+
+    private final NewsFeeds newsFeeds;
+    private final CacheControl cacheControl;
+
+    @Autowired
+    public NewsFeedController(NewsFeeds newsFeeds, @Value("${news.feed.cache-max-age:PT5M}") Duration cacheMaxAge) {
+        this.newsFeeds = newsFeeds;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+    }
+
+    // Serve the feed of the latest news as RSS or Atom
+    @GetMapping("/news.{format:rss|atom}")
+    public ResponseEntity<byte[]> siteFeed(@PathVariable String format, @RequestHeader HttpHeaders requestHeaders) {
+        return serve(newsFeeds.siteFeed(), format, requestHeaders);
+    }
+
+    // Serve the feed of the latest news of an author as RSS or Atom
+    @GetMapping("/authors/{id}.{format:rss|atom}")
+    public ResponseEntity<byte[]> authorFeed(@PathVariable String id, @PathVariable String format,
+                                             @RequestHeader HttpHeaders requestHeaders) {
+        return serve(newsFeeds.authorFeed(id), format, requestHeaders);
+    }
+
+    /*
+    Writes the pre-serialized document, compressed when the client accepts gzip, or answers 304
+    when the client copy is current. Nothing is queried or serialized here.
+    */
+    private ResponseEntity<byte[]> serve(NewsFeeds.Feed feed, String formatName, HttpHeaders requestHeaders) {
+        if (feed == null) {
+            return ResponseEntity.notFound().build();
+        }
+        FeedFormat format = FeedFormat.valueOf(formatName.toUpperCase(Locale.ROOT));
+        NewsFeeds.Representation representation = feed.representation(format);
+        String acceptEncoding = requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        String etag = gzip ? representation.gzipEtag() : representation.etag();
+
+        if (isNotModified(requestHeaders, representation, feed.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .lastModified(feed.lastModified())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(feed.lastModified())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(new MediaType(MediaType.parseMediaType(format.getMediaType()), StandardCharsets.UTF_8));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? representation.gzip() : representation.plain());
+    }
+
+    // Either representation's validator is accepted, as clients may change what they accept between polls
+    private boolean isNotModified(HttpHeaders requestHeaders, NewsFeeds.Representation representation, long lastModified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            return ifNoneMatch.contains(representation.etag()) || ifNoneMatch.contains(representation.gzipEtag())
+                    || ifNoneMatch.contains("*");
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        // HTTP dates have a resolution of one second
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+}
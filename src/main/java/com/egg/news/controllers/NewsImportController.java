@@ -0,0 +1,45 @@
+package com.egg.news.controllers;
+
+import com.egg.news.dto.ImportReport;
+import com.egg.news.exceptions.UserInputException;
+import com.egg.news.imports.NewsRowReader;
+import com.egg.news.services.NewsImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@Controller
+@RequestMapping("/news")
+public class NewsImportController {
+
+    private final NewsImportService newsImportService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public NewsImportController(NewsImportService newsImportService, ObjectMapper objectMapper) {
+        this.newsImportService = newsImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Import news in bulk from a CSV or NDJSON request body, read as it arrives;
+    // answers with the number of imported rows and the errors of the rejected ones
+    @PostMapping(value = "/import", consumes = {NewsRowReader.CSV, NewsRowReader.NDJSON}, produces = "application/json")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importNews(HttpServletRequest request) throws IOException {
+        try (NewsRowReader reader = NewsRowReader.open(request.getContentType(), request.getInputStream(), objectMapper)) {
+            ImportReport report = newsImportService.importNews(reader);
+            return ResponseEntity.ok(report);
+        } catch (UserInputException e) {
+            return ResponseEntity.badRequest().body(Map.of("errors", List.of(e.getMessage())));
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package com.egg.news.controllers;
 
-import com.egg.news.entities.User;
 import com.egg.news.exceptions.UserInputException;
+import com.egg.news.security.SessionUser;
 import com.egg.news.services.UserService;
-import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -12,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.SessionAttribute;
 import org.springframework.web.multipart.MultipartFile;
 
 @Controller
@@ -73,12 +73,13 @@ public class PortalController {
 
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
     @GetMapping("/home")
-    public String home(HttpSession session) {
-
-        User logged = (User) session.getAttribute("usersession");
+    public String home(@SessionAttribute(name = SessionUser.ATTRIBUTE, required = false) SessionUser logged) {
 
+        if (logged == null) {
+            return "redirect:/login";
+        }
 
-        if(logged.getRole().toString().equals("ADMIN")){
+        if (logged.isAdmin()) {
             return "redirect:/admin/dashboard";
         }
 
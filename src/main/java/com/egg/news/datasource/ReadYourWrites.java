@@ -0,0 +1,54 @@
+package com.egg.news.datasource;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Keeps a user's reads on the primary for a short window after they committed a write, so the page they are
+ * sent to next shows their change even while the replica is still catching up.
+ * The end of the window is kept in the HTTP session: it follows the user across requests and nodes, and
+ * requests without a session, such as feed polls and API calls, are never pinned.
+ * Writes made outside of a request, by jobs and startup tasks, pin nobody.
+ */
+public class ReadYourWrites {
+
+    private static final String ATTRIBUTE = ReadYourWrites.class.getName() + ".until";
+
+    private final long windowMillis;
+
+    /**
+     * @param window How long after a write the reads of the same session stay on the primary;
+     *               set it above the usual replication lag.
+     */
+    public ReadYourWrites(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    /**
+     * Records a write committed by the current request.
+     */
+    public void recordWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || windowMillis <= 0) {
+            return;
+        }
+        attributes.setAttribute(ATTRIBUTE, System.currentTimeMillis() + windowMillis, RequestAttributes.SCOPE_SESSION);
+    }
+
+    /**
+     * Tells whether the reads of the current request must go to the primary.
+     *
+     * @return true if the session of the current request committed a write within the window.
+     */
+    public boolean isPinned() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        // Never creates a session
+        return attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_SESSION) instanceof Long until
+                && System.currentTimeMillis() < until;
+    }
+}
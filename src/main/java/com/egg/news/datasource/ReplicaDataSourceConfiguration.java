@@ -0,0 +1,103 @@
+package com.egg.news.datasource;
+
+import com.egg.news.enums.DataSourceRole;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica support, enabled by setting news.datasource.replica.url.
+ * The primary pool is configured by spring.datasource.* as usual and the replica pool by
+ * news.datasource.replica.* (url, username, password, hikari.*), sharing the primary's driver and credentials
+ * unless overridden. Both pools are beans of their own, so Spring Boot publishes their HikariCP metrics
+ * tagged pool="primary" and pool="replica".
+ * Without a replica URL none of this is created and Spring Boot's single DataSource is used.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "news.datasource.replica.url")
+public class ReplicaDataSourceConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSourceConfiguration.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(DataSourceRole.PRIMARY.getPoolName());
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("news.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${news.datasource.replica.url}") String url,
+                                              @Value("${news.datasource.replica.username:#{null}}") String username,
+                                              @Value("${news.datasource.replica.password:#{null}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username != null ? username : properties.determineUsername())
+                .password(password != null ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName(DataSourceRole.REPLICA.getPoolName());
+        // A statement routed here by mistake fails instead of diverging from the primary
+        dataSource.setReadOnly(true);
+        logger.info("Routing read-only transactions to the replica at {}", url);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(@Value("${news.datasource.replica.read-your-writes:PT5S}") Duration window) {
+        return new ReadYourWrites(window);
+    }
+
+    // The DataSource of JPA, Spring Data, JdbcTemplate and Spring Session
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                readYourWrites, meterRegistry);
+        routing.afterPropertiesSet();
+        // Hibernate takes its connection as the transaction begins, before it is flagged read-only
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Replaces Spring Boot's JPA transaction manager by one recording the writes committed by each session.
+     * Only JPA transactions are seen, not the ones Spring Session runs on its own to store sessions.
+     */
+    @Bean
+    public JpaTransactionManager transactionManager(ReadYourWrites readYourWrites,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager() {
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                super.doCommit(status);
+                if (!status.isReadOnly()) {
+                    readYourWrites.recordWrite();
+                }
+            }
+        };
+        customizers.ifAvailable(transactionManagerCustomizers -> transactionManagerCustomizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
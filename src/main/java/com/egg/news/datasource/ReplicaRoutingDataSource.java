@@ -0,0 +1,86 @@
+package com.egg.news.datasource;
+
+import com.egg.news.enums.DataSourceRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * DataSource sending the connections of read-only transactions to the replica and every other connection
+ * to the primary. Reads stay on the primary when the session is within its {@link ReadYourWrites} window,
+ * or inside {@link #onPrimary(Supplier)}.
+ * The routing decision reads the flags of the current transaction, which are only set once the transaction
+ * has begun: it must be wrapped in a LazyConnectionDataSourceProxy so connections are fetched on first use.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    // Nesting depth of onPrimary blocks on the current thread
+    private static final ThreadLocal<int[]> PRIMARY_FORCED = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final ReadYourWrites readYourWrites;
+    private final Counter readOnly;
+    private final Counter readWrite;
+    private final Counter pinned;
+    private final Counter forced;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWrites readYourWrites,
+                                    MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.readOnly = counter(meterRegistry, DataSourceRole.REPLICA, "read-only");
+        this.readWrite = counter(meterRegistry, DataSourceRole.PRIMARY, "read-write");
+        this.pinned = counter(meterRegistry, DataSourceRole.PRIMARY, "read-your-writes");
+        this.forced = counter(meterRegistry, DataSourceRole.PRIMARY, "forced");
+    }
+
+    /**
+     * Runs an action with every read of the current thread going to the primary.
+     * Used by the in-memory caches: they are reloaded right after a write, and a stale read from the replica
+     * would stay cached until the next write. Connections already held by an ongoing transaction are unaffected.
+     *
+     * @param action The action to run.
+     * @param <T>    The type of the result.
+     * @return The result of the action.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        int[] depth = PRIMARY_FORCED.get();
+        depth[0]++;
+        try {
+            return action.get();
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWrite.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        if (PRIMARY_FORCED.get()[0] > 0) {
+            forced.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        if (readYourWrites.isPinned()) {
+            pinned.increment();
+            return DataSourceRole.PRIMARY;
+        }
+        readOnly.increment();
+        return DataSourceRole.REPLICA;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, DataSourceRole role, String reason) {
+        return Counter.builder("news.datasource.routing")
+                .description("Connections handed out by the routing DataSource")
+                .tag("pool", role.getPoolName())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
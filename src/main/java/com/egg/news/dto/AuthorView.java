@@ -0,0 +1,22 @@
+package com.egg.news.dto;
+
+import com.egg.news.entities.Author;
+
+/**
+ * Read model of an author, as rendered by list, search and selection widgets.
+ *
+ * @param id   The ID of the author.
+ * @param name The name of the author.
+ */
+public record AuthorView(String id, String name) {
+
+    /**
+     * Builds the view of a loaded author entity.
+     *
+     * @param author The author entity.
+     * @return The view of the author.
+     */
+    public static AuthorView of(Author author) {
+        return new AuthorView(author.getId(), author.getName());
+    }
+}
@@ -0,0 +1,21 @@
+package com.egg.news.dto;
+
+/**
+ * Snapshot of the counters of an in-process cache.
+ *
+ * @param hits    The number of reads answered from the cache.
+ * @param misses  The number of reads that had to load from the database.
+ * @param version The current data version of the cached content.
+ */
+public record CacheStats(long hits, long misses, long version) {
+
+    /**
+     * Computes the ratio of reads answered from the cache.
+     *
+     * @return The hit ratio between 0 and 1, or 0 if there were no reads.
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,14 @@
+package com.egg.news.dto;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated listing.
+ *
+ * @param items    The rows of the page, in display order.
+ * @param next     The token of the following page, or null if this is the last one.
+ * @param previous The token of the preceding page, or null if this is the first one.
+ * @param <T>      The type of the rows.
+ */
+public record CursorPage<T>(List<T> items, String next, String previous) {
+}
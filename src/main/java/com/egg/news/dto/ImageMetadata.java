@@ -0,0 +1,24 @@
+package com.egg.news.dto;
+
+import com.egg.news.enums.ImageStorageType;
+
+/**
+ * Metadata of a stored image, enough to answer conditional and range requests without reading its content.
+ *
+ * @param id      The ID of the image.
+ * @param mime    The MIME type of the image.
+ * @param hash    The hex-encoded SHA-256 of the content.
+ * @param size    The length of the content in bytes.
+ * @param storage The backend holding the content; null for images stored before backends existed.
+ */
+public record ImageMetadata(String id, String mime, String hash, Long size, ImageStorageType storage) {
+
+    /**
+     * Returns the backend holding the content, treating legacy images as stored in the database.
+     *
+     * @return The storage backend of the image.
+     */
+    public ImageStorageType storageType() {
+        return storage != null ? storage : ImageStorageType.DATABASE;
+    }
+}
@@ -0,0 +1,23 @@
+package com.egg.news.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param imported        The number of articles inserted.
+ * @param failed          The number of rows rejected.
+ * @param errors          The first rejected rows, with the reason of each.
+ * @param errorsTruncated Whether more rows were rejected than are listed.
+ */
+public record ImportReport(long imported, long failed, List<RowError> errors, boolean errorsTruncated) {
+
+    /**
+     * A rejected row.
+     *
+     * @param line    The line of the upload the row starts at, one-based.
+     * @param message Why the row was rejected.
+     */
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.egg.news.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position inside the news listing, ordered by {@code (date, id)} descending.
+ * Encoded as an opaque URL-safe token so templates can pass it around as a plain request parameter.
+ *
+ * @param date The date of the news the cursor points at.
+ * @param id   The ID of the news the cursor points at, used as tie-breaker between equal dates.
+ */
+public record NewsCursor(Date date, String id) {
+
+    // Sentinel placed after every real row: DATETIME upper bound and an ID that sorts before any UUID
+    public static final NewsCursor START = new NewsCursor(new Date(253402300799000L), "");
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Builds the cursor pointing at the provided position.
+     *
+     * @param date The date of the row.
+     * @param id   The ID of the row.
+     * @return The encoded token.
+     */
+    public static String encode(Date date, String id) {
+        String raw = date.getTime() + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode(Date, String)}.
+     *
+     * @param token The encoded token.
+     * @return The cursor, or null if the token is empty or malformed.
+     */
+    public static NewsCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                return null;
+            }
+            return new NewsCursor(new Date(Long.parseLong(raw.substring(0, separator))), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.egg.news.dto;
+
+import com.egg.news.entities.News;
+
+import java.util.Date;
+
+/**
+ * Read model of a news article as shown by list, search and feed pages: its excerpt instead of its body.
+ * Built directly by JPQL constructor expressions, so listings never read the body column.
+ *
+ * @param id         The ID of the news.
+ * @param title      The title of the news.
+ * @param excerpt    The excerpt of the body.
+ * @param date       The date when the news was created.
+ * @param authorId   The ID of the author.
+ * @param authorName The name of the author.
+ */
+public record NewsSummary(String id, String title, String excerpt, Date date, String authorId, String authorName) {
+
+    /**
+     * Builds the summary of a loaded news entity.
+     *
+     * @param news The news entity, with its author initialized.
+     * @return The summary of the news.
+     */
+    public static NewsSummary of(News news) {
+        return new NewsSummary(news.getId(), news.getTitle(), news.getExcerpt(), news.getDate(),
+                news.getAuthor().getId(), news.getAuthor().getName());
+    }
+}
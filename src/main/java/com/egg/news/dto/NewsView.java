@@ -0,0 +1,30 @@
+package com.egg.news.dto;
+
+import com.egg.news.entities.News;
+
+import java.util.Date;
+
+/**
+ * Read model of a news article together with its author, as rendered by list, search and update pages.
+ * Built directly by JPQL constructor expressions so pages never touch managed entities.
+ *
+ * @param id         The ID of the news.
+ * @param title      The title of the news.
+ * @param body       The body content of the news.
+ * @param date       The date when the news was created.
+ * @param authorId   The ID of the author.
+ * @param authorName The name of the author.
+ */
+public record NewsView(String id, String title, String body, Date date, String authorId, String authorName) {
+
+    /**
+     * Builds the view of a loaded news entity.
+     *
+     * @param news The news entity, with its author initialized.
+     * @return The view of the news.
+     */
+    public static NewsView of(News news) {
+        return new NewsView(news.getId(), news.getTitle(), news.getBody(), news.getDate(),
+                news.getAuthor().getId(), news.getAuthor().getName());
+    }
+}
@@ -0,0 +1,16 @@
+package com.egg.news.dto;
+
+import com.egg.news.enums.Role;
+
+/**
+ * Columns of a user needed to authenticate and build the session, without the profile image.
+ *
+ * @param id       The ID of the user.
+ * @param name     The display name of the user.
+ * @param email    The email the user logs in with.
+ * @param password The password hash.
+ * @param role     The role of the user.
+ * @param imageId  The ID of the profile image, or null if the user has none.
+ */
+public record UserCredentials(String id, String name, String email, String password, Role role, String imageId) {
+}
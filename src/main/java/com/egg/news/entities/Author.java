@@ -1,21 +1,33 @@
 package com.egg.news.entities;
 
+import com.egg.news.cache.SecondLevelCacheConfiguration;
+import com.egg.news.ids.UuidBinaryType;
+import com.egg.news.ids.UuidV7Generator;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 /**
  * Entity class representing an Author in the application.
  * Uses JPA annotations for persistence and Hibernate-specific annotations for ID generation.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.AUTHOR_REGION)
 public class Author {
 
-    // ID field with UUID generation strategy
+    // Time-ordered UUID, stored as BINARY(16)
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", type = UuidV7Generator.class)
+    @Type(UuidBinaryType.class)
+    @Column(length = 16)
     private String id;
 
     // Name of the author
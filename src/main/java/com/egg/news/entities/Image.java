@@ -1,22 +1,50 @@
 package com.egg.news.entities;
 
+import com.egg.news.enums.ImageStorageType;
+import com.egg.news.ids.UuidBinaryType;
+import com.egg.news.ids.UuidV7Generator;
 import jakarta.persistence.*;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
-import java.util.Arrays;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_image_original_dimension", columnNames = {"original_id", "dimension"}))
 public class Image {
 
-    // ID field with UUID generation strategy
+    // Time-ordered UUID, stored as BINARY(16)
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", type = UuidV7Generator.class)
+    @Type(UuidBinaryType.class)
+    @Column(length = 16)
     private String id;
 
     private String mime;
     private String name;
 
+    // Hex-encoded SHA-256 of the content, used as strong ETag
+    @Column(length = 64)
+    private String hash;
+
+    // Length of the content in bytes
+    private Long size;
+
+    // Backend holding the content; the content column is only filled for DATABASE
+    @Enumerated(EnumType.STRING)
+    private ImageStorageType storage;
+
+    // Uploaded image this one is a resized variant of, null for originals
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Image original;
+
+    // Bounding box in pixels of a resized variant, null for originals
+    private Integer dimension;
+
+    // Hex-encoded SHA-256 of the original content a variant was resized from, null for originals
+    @Column(length = 64)
+    private String sourceHash;
+
     @Lob
     @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition="MEDIUMBLOB")
@@ -49,6 +77,54 @@ public class Image {
         this.name = name;
     }
 
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public ImageStorageType getStorage() {
+        return storage;
+    }
+
+    public void setStorage(ImageStorageType storage) {
+        this.storage = storage;
+    }
+
+    public Image getOriginal() {
+        return original;
+    }
+
+    public void setOriginal(Image original) {
+        this.original = original;
+    }
+
+    public Integer getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(Integer dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getSourceHash() {
+        return sourceHash;
+    }
+
+    public void setSourceHash(String sourceHash) {
+        this.sourceHash = sourceHash;
+    }
+
     public byte[] getContent() {
         return content;
     }
@@ -63,7 +139,8 @@ public class Image {
                 "id='" + id + '\'' +
                 ", mime='" + mime + '\'' +
                 ", name='" + name + '\'' +
-                ", content=" + Arrays.toString(content) +
+                ", hash='" + hash + '\'' +
+                ", size=" + size +
                 '}';
     }
 }
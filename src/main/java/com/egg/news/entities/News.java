@@ -1,7 +1,14 @@
 package com.egg.news.entities;
 
+import com.egg.news.cache.SecondLevelCacheConfiguration;
+import com.egg.news.ids.UuidBinaryType;
+import com.egg.news.ids.UuidV7Generator;
+import com.egg.news.utils.ExcerptUtils;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.util.Date;
 
@@ -10,21 +17,35 @@ import java.util.Date;
  * Uses JPA annotations for persistence and Hibernate-specific annotations for ID generation.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfiguration.NEWS_REGION)
+@Table(indexes = {
+        // Keyset pagination indexes: visible rows ordered by (date, id), optionally per author
+        @Index(name = "idx_news_status_date_id", columnList = "status, date, id"),
+        @Index(name = "idx_news_author_status_date_id", columnList = "author_id, status, date, id")
+})
 public class News {
 
-    // ID field with UUID generation strategy
+    // Time-ordered UUID, stored as BINARY(16)
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", type = UuidV7Generator.class)
+    @Type(UuidBinaryType.class)
+    @Column(length = 16)
     private String id;
 
     // Title of the news
     private String title;
 
-    // Body content of the news, with TEXT column definition
+    // Body content of the news, with TEXT column definition; only read when accessed, with bytecode enhancement
+    @Basic(fetch = FetchType.LAZY)
     @Column(nullable = false, columnDefinition = "TEXT")
     private String body;
 
+    // First words of the body, shown by listings instead of the full text; null until computed for older rows
+    @Column(length = ExcerptUtils.MAX_LENGTH + 1)
+    private String excerpt;
+
     // Status of the news (true for visible, false for hidden)
     private Boolean status;
 
@@ -32,8 +53,8 @@ public class News {
     @Temporal(TemporalType.TIMESTAMP)
     private Date date;
 
-    // Many-to-One relationship with Author entity
-    @ManyToOne
+    // Many-to-One relationship with Author entity, loaded only when a query joins it
+    @ManyToOne(fetch = FetchType.LAZY)
     private Author author;
 
     /**
@@ -90,12 +111,22 @@ public class News {
     }
 
     /**
-     * Setter method for setting the news body.
+     * Setter method for setting the news body. Also recomputes the excerpt.
      *
      * @param body The body content to set for the news.
      */
     public void setBody(String body) {
         this.body = body;
+        this.excerpt = ExcerptUtils.excerpt(body);
+    }
+
+    /**
+     * Getter method for retrieving the excerpt of the news body.
+     *
+     * @return The excerpt of the body, or null if it has not been computed yet.
+     */
+    public String getExcerpt() {
+        return excerpt;
     }
 
     /**
@@ -1,15 +1,21 @@
 package com.egg.news.entities;
 
 import com.egg.news.enums.Role;
+import com.egg.news.ids.UuidBinaryType;
+import com.egg.news.ids.UuidV7Generator;
 import jakarta.persistence.*;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 @Entity
+@Table(indexes = @Index(name = "uk_user_email", columnList = "email", unique = true))
 public class User {
 
     @Id
-    @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", type = UuidV7Generator.class)
+    @Type(UuidBinaryType.class)
+    @Column(length = 16)
     private String id;
     private String name;
     private String email;
@@ -18,7 +24,8 @@ public class User {
     private Role role;
 
 
-    @OneToOne
+    // Lazy, so loading a user never loads the row holding the profile image
+    @OneToOne(fetch = FetchType.LAZY)
     private Image image;
 
     public User() {
@@ -0,0 +1,16 @@
+package com.egg.news.enums;
+
+public enum DataSourceRole {
+
+    PRIMARY,
+    REPLICA;
+
+    /**
+     * Name of the connection pool of this role, as tagged on its metrics.
+     *
+     * @return The lower-case name of the role.
+     */
+    public String getPoolName() {
+        return name().toLowerCase();
+    }
+}
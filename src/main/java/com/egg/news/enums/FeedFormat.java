@@ -0,0 +1,26 @@
+package com.egg.news.enums;
+
+/**
+ * Syndication formats in which news feeds are published.
+ */
+public enum FeedFormat {
+
+    RSS("application/rss+xml", "rss"),
+    ATOM("application/atom+xml", "atom");
+
+    private final String mediaType;
+    private final String extension;
+
+    FeedFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,7 @@
+package com.egg.news.enums;
+
+public enum ImageStorageType {
+
+    DATABASE,
+    FILESYSTEM;
+}
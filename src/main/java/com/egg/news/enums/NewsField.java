@@ -0,0 +1,79 @@
+package com.egg.news.enums;
+
+import com.egg.news.exceptions.UserInputException;
+import com.egg.news.repositories.NewsRepository;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Fields of a news article that JSON API clients may select, each with the columns it is read from.
+ */
+public enum NewsField {
+
+    // Every query reads the ID and date, which position pages, so they add no columns
+    ID,
+    TITLE("n.title"),
+    EXCERPT(NewsRepository.EXCERPT),
+    BODY("n.body"),
+    DATE,
+    AUTHOR("a.id", "a.name");
+
+    // What listings return when no fields are requested: everything but the body
+    public static final Set<NewsField> LISTING_DEFAULT = EnumSet.of(ID, TITLE, EXCERPT, DATE, AUTHOR);
+
+    private final String[] columns;
+
+    NewsField(String... columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the JPQL paths of the columns this field adds to a query, on {@code News n} joined to {@code Author a}.
+     *
+     * @return The paths, in the order they are selected.
+     */
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    /**
+     * Returns the name of the field in requests and responses.
+     *
+     * @return The lowercase name.
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses a comma-separated list of field names, such as {@code id,title,author}.
+     *
+     * @param fields   The requested fields, or null or blank for the default.
+     * @param defaults The fields returned when none are requested.
+     * @return The selected fields.
+     * @throws UserInputException If a name is not a field.
+     */
+    public static Set<NewsField> parse(String fields, Set<NewsField> defaults) throws UserInputException {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.copyOf(defaults);
+        }
+        Set<NewsField> selected = EnumSet.noneOf(NewsField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                selected.add(valueOf(trimmed.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new UserInputException("Unknown field '" + trimmed + "', use id, title, excerpt, body, date or author");
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new UserInputException("No fields selected");
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,9 @@
+package com.egg.news.events;
+
+/**
+ * Published when the content of an original image is stored or replaced.
+ *
+ * @param idImage The ID of the uploaded image.
+ */
+public record ImageUploadedEvent(String idImage) {
+}
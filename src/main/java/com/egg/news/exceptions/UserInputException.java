@@ -1,9 +1,11 @@
 package com.egg.news.exceptions;
 
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serial;
+import java.util.List;
 
 /**
  * Custom exception class for handling user input-related errors.
@@ -17,6 +19,9 @@ public class UserInputException extends RuntimeException {
     // Logger for logging error messages
     private static final Logger logger = LoggerFactory.getLogger(UserInputException.class);
 
+    // Immutable, hence serializable
+    private final List<String> violations;
+
     /**
      * Constructor to create a UserInputException with a specified error message.
      *
@@ -24,13 +29,35 @@ public class UserInputException extends RuntimeException {
      */
     public UserInputException(String message) {
         super(message);
+        this.violations = List.of(message);
+    }
+
+    /**
+     * Constructor to create a UserInputException reporting several issues at once.
+     *
+     * @param violations The error messages, one per issue, in the order they should be shown.
+     */
+    public UserInputException(List<String> violations) {
+        super(String.join("; ", violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * Returns every issue found in the input.
+     *
+     * @return The error messages, one per issue.
+     */
+    public List<String> getViolations() {
+        return violations;
     }
 
     /**
-     * Method to handle the exception by logging error messages.
+     * Method to handle the exception by logging error messages and counting it.
      * This method is called when an instance of this exception is caught.
      */
     public void handle() {
+        // Global registry: exceptions are not beans, and Spring Boot adds its registry to it
+        Metrics.counter("news.user.input.errors").increment();
         logger.error("Error processing user input");
         logger.error("Error message: {}", getMessage());
     }
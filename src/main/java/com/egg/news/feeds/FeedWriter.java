@@ -0,0 +1,172 @@
+package com.egg.news.feeds;
+
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.enums.FeedFormat;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Serializes a news feed as an RSS 2.0 or Atom 1.0 document, encoded in UTF-8.
+ * Links are absolute, built from the public base URL of the site, since the bytes are
+ * produced once and served to every client whatever host name it used.
+ */
+final class FeedWriter {
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+    private static final String DC_NAMESPACE = "http://purl.org/dc/elements/1.1/";
+
+    private static final String LIST_PATH = "/news/list";
+    private static final String VIEW_PATH = "/news/view/";
+
+    private final String baseUrl;
+
+    FeedWriter(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * Serializes a feed.
+     *
+     * @param format   The syndication format.
+     * @param title    The title of the feed.
+     * @param selfPath The path the feed is served at, without the extension of the format.
+     * @param items    The news of the feed, newest first.
+     * @param updated  The time the content of the feed last changed.
+     * @return The encoded document.
+     */
+    byte[] write(FeedFormat format, String title, String selfPath, List<NewsSummary> items, Date updated) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024 + items.size() * 1024);
+        try {
+            XMLStreamWriter xml = FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            String self = baseUrl + selfPath + "." + format.getExtension();
+            if (format == FeedFormat.RSS) {
+                writeRss(xml, title, self, items, updated);
+            } else {
+                writeAtom(xml, title, self, items, updated);
+            }
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Unable to write the " + format + " feed " + selfPath, e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeRss(XMLStreamWriter xml, String title, String self, List<NewsSummary> items, Date updated)
+            throws XMLStreamException {
+        xml.writeStartElement("rss");
+        xml.writeAttribute("version", "2.0");
+        xml.writeNamespace("atom", ATOM_NAMESPACE);
+        xml.writeNamespace("dc", DC_NAMESPACE);
+        xml.writeStartElement("channel");
+        element(xml, "title", title);
+        element(xml, "link", baseUrl + LIST_PATH);
+        element(xml, "description", title);
+        element(xml, "lastBuildDate", rfc1123(updated));
+        xml.writeEmptyElement("atom", "link", ATOM_NAMESPACE);
+        xml.writeAttribute("href", self);
+        xml.writeAttribute("rel", "self");
+        xml.writeAttribute("type", FeedFormat.RSS.getMediaType());
+
+        for (NewsSummary news : items) {
+            xml.writeStartElement("item");
+            element(xml, "title", news.title());
+            element(xml, "link", baseUrl + VIEW_PATH + news.id());
+            xml.writeStartElement("guid");
+            xml.writeAttribute("isPermaLink", "false");
+            xml.writeCharacters(urn(news));
+            xml.writeEndElement();
+            element(xml, "pubDate", rfc1123(news.date()));
+            xml.writeStartElement("dc", "creator", DC_NAMESPACE);
+            xml.writeCharacters(clean(news.authorName()));
+            xml.writeEndElement();
+            element(xml, "description", news.excerpt());
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void writeAtom(XMLStreamWriter xml, String title, String self, List<NewsSummary> items, Date updated)
+            throws XMLStreamException {
+        xml.setDefaultNamespace(ATOM_NAMESPACE);
+        xml.writeStartElement(ATOM_NAMESPACE, "feed");
+        xml.writeDefaultNamespace(ATOM_NAMESPACE);
+        element(xml, "id", self);
+        element(xml, "title", title);
+        element(xml, "updated", iso(updated));
+        link(xml, self, "self", FeedFormat.ATOM.getMediaType());
+        link(xml, baseUrl + LIST_PATH, "alternate", "text/html");
+
+        for (NewsSummary news : items) {
+            xml.writeStartElement("entry");
+            element(xml, "id", urn(news));
+            element(xml, "title", news.title());
+            // Articles keep their creation date when edited, which is all the model records
+            element(xml, "published", iso(news.date()));
+            element(xml, "updated", iso(news.date()));
+            xml.writeStartElement("author");
+            element(xml, "name", news.authorName());
+            xml.writeEndElement();
+            link(xml, baseUrl + VIEW_PATH + news.id(), "alternate", "text/html");
+            element(xml, "summary", news.excerpt());
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(clean(text));
+        xml.writeEndElement();
+    }
+
+    private static void link(XMLStreamWriter xml, String href, String rel, String type) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("href", href);
+        xml.writeAttribute("rel", rel);
+        xml.writeAttribute("type", type);
+    }
+
+    private static String urn(NewsSummary news) {
+        return "urn:uuid:" + news.id();
+    }
+
+    private static String rfc1123(Date date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date.getTime()).atOffset(ZoneOffset.UTC));
+    }
+
+    private static String iso(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).toString();
+    }
+
+    // Drops the control characters XML 1.0 cannot represent, which imported text may contain
+    private static String clean(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder cleaned = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean allowed = c >= ' ' ? c != '\uFFFE' && c != '\uFFFF' : c == '\t' || c == '\n' || c == '\r';
+            if (!allowed && cleaned == null) {
+                cleaned = new StringBuilder(text.length()).append(text, 0, i);
+            } else if (allowed && cleaned != null) {
+                cleaned.append(c);
+            }
+        }
+        return cleaned != null ? cleaned.toString() : text;
+    }
+}
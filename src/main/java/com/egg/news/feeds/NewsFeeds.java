@@ -0,0 +1,280 @@
+package com.egg.news.feeds;
+
+import com.egg.news.datasource.ReplicaRoutingDataSource;
+import com.egg.news.dto.AuthorView;
+import com.egg.news.dto.CacheStats;
+import com.egg.news.dto.NewsCursor;
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.enums.FeedFormat;
+import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.repositories.NewsRepository;
+import com.egg.news.utils.HashUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized RSS and Atom feeds of the latest news, site-wide and per author.
+ * Every feed is kept as ready-to-send bytes, plain and gzip-compressed, with a validator computed once,
+ * so a poll costs a map lookup. Writes update the feeds they affect in place and serialize them again;
+ * a feed that can no longer be completed from memory, such as a full feed losing an article, is dropped
+ * and reloaded with one query by the next poll.
+ */
+@Component
+public class NewsFeeds {
+
+    // Key of the site-wide feed; author IDs are never empty
+    private static final String SITE = "";
+
+    private static final String SITE_PATH = "/feeds/news";
+    private static final String AUTHOR_PATH = "/feeds/authors/";
+
+    // Order of the news in a feed, the same as the news listing
+    private static final Comparator<NewsSummary> NEWEST_FIRST = Comparator.comparing(NewsSummary::date)
+            .thenComparing(NewsSummary::id).reversed();
+
+    /**
+     * One representation of a feed, ready to be written to a response.
+     *
+     * @param plain     The document.
+     * @param gzip      The document compressed with gzip.
+     * @param etag      Strong validator of the document.
+     * @param gzipEtag  Strong validator of the compressed document.
+     */
+    public record Representation(byte[] plain, byte[] gzip, String etag, String gzipEtag) {
+    }
+
+    /**
+     * A feed and its serialized forms.
+     *
+     * @param title           The title of the feed.
+     * @param path            The path the feed is served at, without extension.
+     * @param items           The latest news of the feed, newest first.
+     * @param representations The serialized document of every format.
+     * @param lastModified    The time the content last changed, in milliseconds since the epoch.
+     */
+    public record Feed(String title, String path, List<NewsSummary> items, Map<FeedFormat, Representation> representations,
+                       long lastModified) {
+
+        public Representation representation(FeedFormat format) {
+            return representations.get(format);
+        }
+    }
+
+    private final NewsRepository newsRepository;
+    private final AuthorRepository authorRepository;
+    private final FeedWriter writer;
+    private final int maxItems;
+
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong renders = new AtomicLong();
+    // Moved forward by every write applied to the feeds
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    public NewsFeeds(NewsRepository newsRepository, AuthorRepository authorRepository,
+                     @Value("${news.feed.base-url:http://localhost:8080}") String baseUrl,
+                     @Value("${news.feed.size:20}") int size) {
+        this.newsRepository = newsRepository;
+        this.authorRepository = authorRepository;
+        this.writer = new FeedWriter(baseUrl);
+        this.maxItems = size;
+    }
+
+    /**
+     * Returns the site-wide feed, loading it if it is not in memory.
+     *
+     * @return The feed of the latest news.
+     */
+    public Feed siteFeed() {
+        return get(SITE);
+    }
+
+    /**
+     * Returns the feed of an author, loading it if it is not in memory.
+     *
+     * @param idAuthor The ID of the author.
+     * @return The feed of the latest news of the author, or null if the author does not exist.
+     */
+    public Feed authorFeed(String idAuthor) {
+        if (idAuthor == null || idAuthor.isEmpty()) {
+            return null;
+        }
+        return get(idAuthor);
+    }
+
+    /**
+     * Applies a created or updated news article to the feeds in memory. Call after the write has committed.
+     *
+     * @param news The summary of the news as saved.
+     */
+    public void onSaved(NewsSummary news) {
+        changes.incrementAndGet();
+        for (String key : feeds.keySet()) {
+            feeds.computeIfPresent(key, (k, feed) -> {
+                if (k.equals(SITE) || k.equals(news.authorId())) {
+                    return upsert(feed, news);
+                }
+                // The article moved to another author
+                return remove(feed, news.id());
+            });
+        }
+    }
+
+    /**
+     * Removes a deleted news article from the feeds in memory. Call after the write has committed.
+     *
+     * @param id The ID of the news.
+     */
+    public void onDeleted(String id) {
+        changes.incrementAndGet();
+        for (String key : feeds.keySet()) {
+            feeds.computeIfPresent(key, (k, feed) -> remove(feed, id));
+        }
+    }
+
+    /**
+     * Drops the feeds showing the name of an author, which are reloaded by their next poll.
+     *
+     * @param idAuthor The ID of the renamed author.
+     */
+    public void onAuthorRenamed(String idAuthor) {
+        changes.incrementAndGet();
+        feeds.remove(idAuthor);
+        for (String key : feeds.keySet()) {
+            feeds.computeIfPresent(key, (k, feed) ->
+                    feed.items().stream().anyMatch(news -> news.authorId().equals(idAuthor)) ? null : feed);
+        }
+    }
+
+    /**
+     * Drops every feed, for writes touching too many news to apply one by one, such as bulk imports.
+     */
+    public void invalidateAll() {
+        changes.incrementAndGet();
+        feeds.clear();
+    }
+
+    /**
+     * Retrieves the counters of the feeds.
+     *
+     * @return The polls answered from memory, the polls that loaded a feed and the number of serializations.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), renders.get());
+    }
+
+    /**
+     * Returns the number of feeds held in memory.
+     *
+     * @return The number of feeds.
+     */
+    public int size() {
+        return feeds.size();
+    }
+
+    private Feed get(String key) {
+        Feed feed = feeds.get(key);
+        if (feed != null) {
+            hits.increment();
+            return feed;
+        }
+        misses.increment();
+        long seen = changes.get();
+        // Concurrent polls of the same missing feed wait for a single load, read from the primary as the
+        // feed is then kept up to date by the writes alone
+        feed = ReplicaRoutingDataSource.onPrimary(() -> feeds.computeIfAbsent(key, this::load));
+        // A write applied while the feed was loading may have missed it: serve it once, reload on the next poll
+        if (feed != null && changes.get() != seen) {
+            feeds.remove(key, feed);
+        }
+        return feed;
+    }
+
+    private Feed load(String key) {
+        Date start = NewsCursor.START.date();
+        String startId = NewsCursor.START.id();
+        PageRequest limit = PageRequest.of(0, maxItems);
+        if (key.equals(SITE)) {
+            return render("Latest news", SITE_PATH, newsRepository.getListNewsAfter(start, startId, limit));
+        }
+        AuthorView author = authorRepository.findViewById(key).orElse(null);
+        if (author == null) {
+            return null;
+        }
+        return render("Latest news by " + author.name(), AUTHOR_PATH + key,
+                newsRepository.searchByAuthorAfter(key, start, startId, limit));
+    }
+
+    private Feed upsert(Feed feed, NewsSummary news) {
+        List<NewsSummary> items = new ArrayList<>(feed.items().size() + 1);
+        for (NewsSummary item : feed.items()) {
+            if (!item.id().equals(news.id())) {
+                items.add(item);
+            }
+        }
+        int position = 0;
+        while (position < items.size() && NEWEST_FIRST.compare(items.get(position), news) < 0) {
+            position++;
+        }
+        // Older than every article of a full feed: not part of it
+        if (position == maxItems) {
+            return feed;
+        }
+        items.add(position, news);
+        if (items.size() > maxItems) {
+            items.remove(items.size() - 1);
+        }
+        return render(feed.title(), feed.path(), items);
+    }
+
+    private Feed remove(Feed feed, String id) {
+        if (feed.items().stream().noneMatch(news -> news.id().equals(id))) {
+            return feed;
+        }
+        // A full feed may be hiding the next article in the database
+        if (feed.items().size() >= maxItems) {
+            return null;
+        }
+        return render(feed.title(), feed.path(), feed.items().stream().filter(news -> !news.id().equals(id)).toList());
+    }
+
+    private Feed render(String title, String path, List<NewsSummary> items) {
+        renders.incrementAndGet();
+        long now = System.currentTimeMillis();
+        Map<FeedFormat, Representation> representations = new EnumMap<>(FeedFormat.class);
+        for (FeedFormat format : FeedFormat.values()) {
+            byte[] plain = writer.write(format, title, path, items, new Date(now));
+            String hash = HashUtils.sha256Hex(plain).substring(0, 32);
+            representations.put(format, new Representation(plain, gzip(plain), "\"" + hash + "\"", "\"" + hash + "-gzip\""));
+        }
+        return new Feed(title, path, List.copyOf(items), representations, now);
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,96 @@
+package com.egg.news.ids;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Time-ordered UUIDs in the version 7 layout, and their 16-byte binary form.
+ * The first 48 bits are the Unix time in milliseconds, so new rows are appended at the end
+ * of the clustered index instead of splitting pages all over it; the remaining bits are random,
+ * with a counter keeping IDs generated within the same millisecond increasing.
+ */
+public class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ReentrantLock LOCK = new ReentrantLock();
+
+    // Last timestamp and 12-bit sequence handed out, guarded by LOCK
+    private static long lastMillis;
+    private static int sequence;
+
+    private UuidV7() {
+        // Private constructor to prevent instantiation, as this is a utility class.
+    }
+
+    /**
+     * Generates a new time-ordered UUID.
+     *
+     * @return The UUID in its canonical string form.
+     */
+    public static String generate() {
+        long millis;
+        int counter;
+        LOCK.lock();
+        try {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                sequence = (sequence + 1) & 0xFFF;
+                if (sequence == 0) {
+                    // Sequence exhausted within this millisecond: borrow the next one
+                    millis++;
+                }
+            } else {
+                sequence = RANDOM.nextInt(0x800);
+            }
+            lastMillis = millis;
+            counter = sequence;
+        } finally {
+            LOCK.unlock();
+        }
+
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+
+    /**
+     * Converts a UUID string into the 16 bytes stored in BINARY(16) columns.
+     * Strings that are not UUIDs are passed through as their UTF-8 bytes, so looking them up
+     * simply finds nothing instead of failing.
+     *
+     * @param id The UUID string.
+     * @return The binary form of the ID.
+     */
+    public static byte[] toBytes(String id) {
+        if (id.length() != 36) {
+            return id.getBytes(StandardCharsets.UTF_8);
+        }
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return id.getBytes(StandardCharsets.UTF_8);
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * Converts the binary form of an ID back into its canonical UUID string.
+     *
+     * @param bytes The 16 bytes read from the database.
+     * @return The UUID string.
+     */
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.egg.news.imports;
+
+import com.egg.news.exceptions.UserInputException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads RFC 4180 CSV with a header row naming the columns: title, body, authorId or authorName, and optionally date.
+ * Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvNewsRowReader implements NewsRowReader {
+
+    // Bound on one record, so an unbalanced quote cannot swallow the rest of the upload into memory
+    private static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    private final BufferedReader reader;
+    private final int title;
+    private final int body;
+    private final int authorId;
+    private final int authorName;
+    private final int date;
+    private final int columns;
+
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private long line = 1;
+    private long recordLine;
+    private String recordError;
+
+    CsvNewsRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null || recordError != null) {
+            throw new UserInputException("The CSV header is missing or malformed");
+        }
+        List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT).replace("_", "")).toList();
+        this.columns = names.size();
+        this.title = names.indexOf("title");
+        this.body = names.indexOf("body");
+        this.authorId = names.indexOf("authorid");
+        this.authorName = Math.max(names.indexOf("authorname"), names.indexOf("author"));
+        this.date = names.indexOf("date");
+        if (title < 0 || body < 0 || (authorId < 0 && authorName < 0)) {
+            throw new UserInputException("The CSV header must name the title, body and authorId or authorName columns");
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (recordError == null && record.size() == 1 && record.get(0).isEmpty());
+
+        if (recordError != null) {
+            return ImportRow.malformed(recordLine, recordError);
+        }
+        if (record.size() != columns) {
+            return ImportRow.malformed(recordLine, "Expected " + columns + " columns, found " + record.size());
+        }
+        return new ImportRow(recordLine, column(record, title), column(record, body), column(record, authorId),
+                column(record, authorName), column(record, date), null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String column(List<String> record, int index) {
+        return index < 0 || record.get(index).isEmpty() ? null : record.get(index);
+    }
+
+    // Reads the fields of the next record, or returns null at the end of the input
+    private List<String> readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLine = line;
+        recordError = null;
+        boolean quoted = false;
+        int length = 0;
+
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        for (; c >= 0; c = reader.read()) {
+            if (++length > MAX_RECORD_LENGTH && recordError == null) {
+                recordError = "Record longer than " + MAX_RECORD_LENGTH + " characters";
+            }
+            if (recordError != null) {
+                // Skip to the end of the physical line and resume from there
+                if (c == '\n') {
+                    line++;
+                    return fields;
+                }
+                continue;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (quoted && recordError == null) {
+            recordError = "Unterminated quoted field";
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,20 @@
+package com.egg.news.imports;
+
+/**
+ * One article read from an import upload, before validation.
+ * The author is given either by ID or by exact name.
+ *
+ * @param line       The line of the upload the row starts at, one-based.
+ * @param title      The title of the news.
+ * @param body       The body content of the news.
+ * @param authorId   The ID of the author, or null.
+ * @param authorName The name of the author, or null.
+ * @param date       The ISO-8601 date of the news, or null for the time of the import.
+ * @param error      Why the row could not be read, or null if it was.
+ */
+public record ImportRow(long line, String title, String body, String authorId, String authorName, String date, String error) {
+
+    static ImportRow malformed(long line, String error) {
+        return new ImportRow(line, null, null, null, null, null, error);
+    }
+}
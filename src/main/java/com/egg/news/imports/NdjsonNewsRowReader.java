@@ -0,0 +1,55 @@
+package com.egg.news.imports;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads newline-delimited JSON: one object per line with title, body, authorId or authorName, and date.
+ * Each line is parsed on its own, so a malformed line only fails itself.
+ */
+class NdjsonNewsRowReader implements NewsRowReader {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record Article(String title, String body, String authorId, String authorName, String date) {
+    }
+
+    private final BufferedReader reader;
+    private final ObjectReader articleReader;
+    private long line;
+
+    NdjsonNewsRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.articleReader = objectMapper.readerFor(Article.class);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+        try {
+            Article article = articleReader.readValue(text);
+            if (article == null) {
+                return ImportRow.malformed(line, "Expected a JSON object");
+            }
+            return new ImportRow(line, article.title(), article.body(), article.authorId(), article.authorName(), article.date(), null);
+        } catch (JsonProcessingException e) {
+            return ImportRow.malformed(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
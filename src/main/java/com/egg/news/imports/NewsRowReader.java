@@ -0,0 +1,51 @@
+package com.egg.news.imports;
+
+import com.egg.news.exceptions.UserInputException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming reader of the articles of an import upload, one row at a time,
+ * so uploads of any size are read with constant memory.
+ */
+public interface NewsRowReader extends Closeable {
+
+    String CSV = "text/csv";
+    String NDJSON = "application/x-ndjson";
+
+    /**
+     * Reads the next row. Rows that cannot be read are returned with their error, and reading goes on.
+     *
+     * @return The next row, or null at the end of the upload.
+     * @throws IOException If the upload cannot be read.
+     */
+    ImportRow next() throws IOException;
+
+    /**
+     * Opens a reader for the format of an upload.
+     *
+     * @param contentType  The media type of the upload, CSV or NDJSON.
+     * @param in           The upload, in UTF-8.
+     * @param objectMapper The mapper for NDJSON rows.
+     * @return The reader of the upload.
+     * @throws IOException        If the CSV header cannot be read.
+     * @throws UserInputException If the format is not supported or the CSV header is invalid.
+     */
+    static NewsRowReader open(String contentType, InputStream in, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String mediaType = contentType == null ? "" : contentType.split(";", 2)[0].trim();
+        if (CSV.equalsIgnoreCase(mediaType)) {
+            return new CsvNewsRowReader(reader);
+        }
+        if (NDJSON.equalsIgnoreCase(mediaType)) {
+            return new NdjsonNewsRowReader(reader, objectMapper);
+        }
+        throw new UserInputException("Unsupported import format, use " + CSV + " or " + NDJSON);
+    }
+}
@@ -0,0 +1,98 @@
+package com.egg.news.jobs;
+
+import com.egg.news.cache.DataVersion;
+import com.egg.news.feeds.NewsFeeds;
+import com.egg.news.repositories.NewsBatchWriter;
+import com.egg.news.utils.ExcerptUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-off job computing the excerpts of news stored before excerpts existed.
+ * Enabled with news.excerpt.backfill.enabled=true; runs at startup in batches walked by ID.
+ * While a pool of workers computes and writes the excerpts of some batches, the next batch is being read,
+ * and once the queue of pending batches is full the reader writes one itself, which bounds the bodies held in memory.
+ * Only rows still without an excerpt are read and written, so it can be stopped and resumed at any time.
+ */
+@Component
+@ConditionalOnProperty(name = "news.excerpt.backfill.enabled", havingValue = "true")
+public class ExcerptBackfillJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcerptBackfillJob.class);
+
+    private final NewsBatchWriter newsBatchWriter;
+    private final NewsFeeds newsFeeds;
+    private final DataVersion dataVersion;
+    private final int batchSize;
+    private final int threads;
+
+    @Autowired
+    public ExcerptBackfillJob(NewsBatchWriter newsBatchWriter, NewsFeeds newsFeeds, DataVersion dataVersion,
+                              @Value("${news.excerpt.backfill.batch-size:500}") int batchSize,
+                              @Value("${news.excerpt.backfill.threads:2}") int threads) {
+        this.newsBatchWriter = newsBatchWriter;
+        this.newsFeeds = newsFeeds;
+        this.dataVersion = dataVersion;
+        this.batchSize = batchSize;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), new CustomizableThreadFactory("excerpt-backfill-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        AtomicInteger updated = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        try {
+            String after = "";
+            List<NewsBatchWriter.Text> batch;
+            do {
+                batch = newsBatchWriter.findMissingExcerpts(after, batchSize);
+                if (!batch.isEmpty()) {
+                    after = batch.get(batch.size() - 1).id();
+                    List<NewsBatchWriter.Text> bodies = batch;
+                    executor.execute(() -> backfill(bodies, updated, failed));
+                }
+            } while (batch.size() == batchSize);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.HOURS);
+        }
+        logger.info("Excerpt backfill: {} excerpts written, {} failed, in {} ms", updated.get(), failed.get(),
+                System.currentTimeMillis() - start);
+        // Listings showed the start of the body for these rows until now
+        if (updated.get() > 0) {
+            newsFeeds.invalidateAll();
+            dataVersion.bump();
+        }
+    }
+
+    private void backfill(List<NewsBatchWriter.Text> bodies, AtomicInteger updated, AtomicInteger failed) {
+        try {
+            List<NewsBatchWriter.Text> excerpts = bodies.stream()
+                    .map(body -> new NewsBatchWriter.Text(body.id(), ExcerptUtils.excerpt(body.text())))
+                    .toList();
+            newsBatchWriter.updateExcerpts(excerpts);
+            updated.addAndGet(excerpts.size());
+            logger.info("Excerpt backfill: {} excerpts written", updated.get());
+        } catch (RuntimeException e) {
+            failed.addAndGet(bodies.size());
+            logger.error("Unable to backfill the excerpts of {} news: {}", bodies.size(), e.getMessage());
+        }
+    }
+}
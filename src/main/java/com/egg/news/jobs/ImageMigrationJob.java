@@ -0,0 +1,93 @@
+package com.egg.news.jobs;
+
+import com.egg.news.enums.ImageStorageType;
+import com.egg.news.repositories.ImageContentReader;
+import com.egg.news.repositories.ImageRepository;
+import com.egg.news.storage.FileSystemImageStorage;
+import com.egg.news.utils.HashUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * One-off job moving image content out of the database into the filesystem store.
+ * Enabled with news.image.migration.enabled=true; runs at startup in batches walked by ID,
+ * copying each blob to a temporary file in bounded chunks read by ImageContentReader,
+ * so it can be stopped and resumed at any time.
+ */
+@Component
+@ConditionalOnProperty(name = "news.image.migration.enabled", havingValue = "true")
+public class ImageMigrationJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageMigrationJob.class);
+
+    private final ImageRepository imageRepository;
+    private final ImageContentReader imageContentReader;
+    private final FileSystemImageStorage fileSystemImageStorage;
+    private final int batchSize;
+
+    @Autowired
+    public ImageMigrationJob(ImageRepository imageRepository, ImageContentReader imageContentReader,
+                             FileSystemImageStorage fileSystemImageStorage,
+                             @Value("${news.image.migration.batch-size:100}") int batchSize) {
+        this.imageRepository = imageRepository;
+        this.imageContentReader = imageContentReader;
+        this.fileSystemImageStorage = fileSystemImageStorage;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String after = "";
+        int migrated = 0;
+        int failed = 0;
+        List<String> batch;
+        do {
+            batch = imageRepository.findDatabaseStoredIds(after, PageRequest.of(0, batchSize));
+            for (String id : batch) {
+                try {
+                    migrate(id);
+                    migrated++;
+                } catch (IOException | RuntimeException e) {
+                    failed++;
+                    logger.error("Unable to migrate image {}: {}", id, e.getMessage());
+                }
+                after = id;
+            }
+            logger.info("Image migration: {} moved to the filesystem, {} failed", migrated, failed);
+        } while (batch.size() == batchSize);
+    }
+
+    // Copies one blob to the store, then repoints the row and drops its database copy
+    private void migrate(String id) throws IOException {
+        // Chunks are matched against the known hash, so content replaced meanwhile fails this image instead of mixing
+        String knownHash = imageRepository.findHashById(id).orElse(null);
+        long size = imageContentReader.length(id);
+        MessageDigest digest = HashUtils.sha256();
+        Path file = fileSystemImageStorage.createTempFile();
+        try {
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(file), digest)) {
+                imageContentReader.copy(id, knownHash, 0, size, out);
+            }
+            String hash = HashUtils.toHex(digest.digest());
+            fileSystemImageStorage.commit(hash, file);
+            imageRepository.moveContent(id, ImageStorageType.FILESYSTEM, hash, size);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.egg.news.jobs;
+
+import com.egg.news.repositories.ImageRepository;
+import com.egg.news.storage.FileSystemImageStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Job deleting the files of the filesystem image store that no image refers to anymore,
+ * left behind when profile images are replaced or variants are remade, and stale upload temporary files.
+ * Enabled with news.image.sweep.enabled=true; runs at startup, checking the stored hashes against the Image
+ * table in batches, so it can be stopped and run again at any time.
+ * Only files untouched for news.image.sweep.grace-period are considered, and each is checked again right
+ * before deletion: an upload in progress, or one storing the same content again, keeps its file.
+ */
+@Component
+@ConditionalOnProperty(name = "news.image.sweep.enabled", havingValue = "true")
+public class ImageSweepJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageSweepJob.class);
+
+    private final ImageRepository imageRepository;
+    private final FileSystemImageStorage fileSystemImageStorage;
+    private final Duration gracePeriod;
+    private final int batchSize;
+
+    @Autowired
+    public ImageSweepJob(ImageRepository imageRepository, FileSystemImageStorage fileSystemImageStorage,
+                         @Value("${news.image.sweep.grace-period:PT1H}") Duration gracePeriod,
+                         @Value("${news.image.sweep.batch-size:500}") int batchSize) {
+        this.imageRepository = imageRepository;
+        this.fileSystemImageStorage = fileSystemImageStorage;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        int checked = 0;
+        int deleted = 0;
+        long freed = 0;
+        try (Stream<String> hashes = fileSystemImageStorage.hashesModifiedBefore(cutoff)) {
+            Iterator<String> iterator = hashes.iterator();
+            while (iterator.hasNext()) {
+                List<String> batch = new ArrayList<>(batchSize);
+                while (iterator.hasNext() && batch.size() < batchSize) {
+                    batch.add(iterator.next());
+                }
+                Set<String> referenced = imageRepository.findReferencedHashes(batch);
+                for (String hash : batch) {
+                    if (referenced.contains(hash)) {
+                        continue;
+                    }
+                    long size = fileSystemImageStorage.deleteIfModifiedBefore(hash, cutoff);
+                    if (size >= 0) {
+                        deleted++;
+                        freed += size;
+                    }
+                }
+                checked += batch.size();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        int temporary = fileSystemImageStorage.deleteTempFilesModifiedBefore(cutoff);
+        logger.info("Image sweep: {} files checked, {} unreferenced deleted ({} bytes), {} stale temporary files deleted",
+                checked, deleted, freed, temporary);
+    }
+}
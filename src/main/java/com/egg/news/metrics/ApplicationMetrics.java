@@ -0,0 +1,127 @@
+package com.egg.news.metrics;
+
+import com.egg.news.cache.FragmentCache;
+import com.egg.news.cache.SecondLevelCacheConfiguration;
+import com.egg.news.dto.CacheStats;
+import com.egg.news.feeds.NewsFeeds;
+import com.egg.news.search.NewsSearchIndex;
+import com.egg.news.security.BoundedPasswordEncoder;
+import com.egg.news.security.BoundedUserCache;
+import com.egg.news.services.AuthorService;
+import com.egg.news.services.ImageVariantService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Gauges and counters of the application's own caches and worker pools, read when scraped.
+ */
+@Component
+public class ApplicationMetrics implements MeterBinder {
+
+    private final FragmentCache fragmentCache;
+    private final AuthorService authorService;
+    private final BoundedUserCache userCache;
+    private final ImageVariantService imageVariantService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final NewsFeeds newsFeeds;
+    private final NewsSearchIndex searchIndex;
+    private final Statistics hibernateStatistics;
+
+    @Autowired
+    public ApplicationMetrics(FragmentCache fragmentCache, AuthorService authorService, BoundedUserCache userCache,
+                              ImageVariantService imageVariantService, BoundedPasswordEncoder passwordEncoder,
+                              NewsFeeds newsFeeds, NewsSearchIndex searchIndex, EntityManagerFactory entityManagerFactory) {
+        this.fragmentCache = fragmentCache;
+        this.authorService = authorService;
+        this.userCache = userCache;
+        this.imageVariantService = imageVariantService;
+        this.passwordEncoder = passwordEncoder;
+        this.newsFeeds = newsFeeds;
+        this.searchIndex = searchIndex;
+        this.hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, "fragments", fragmentCache, FragmentCache::stats);
+        Gauge.builder("news.cache.weight", fragmentCache, FragmentCache::weight)
+                .description("Estimated memory held by the cache")
+                .baseUnit("bytes")
+                .tag("cache", "fragments")
+                .register(registry);
+        bindCache(registry, "authors", authorService, AuthorService::catalogueStats);
+        Gauge.builder("news.cache.size", userCache, BoundedUserCache::size)
+                .description("Entries in the cache")
+                .tag("cache", "users")
+                .register(registry);
+        bindCache(registry, "feeds", newsFeeds, NewsFeeds::stats);
+        Gauge.builder("news.cache.size", newsFeeds, NewsFeeds::size)
+                .description("Entries in the cache")
+                .tag("cache", "feeds")
+                .register(registry);
+
+        // Second-level cache regions, counted by Hibernate statistics
+        bindCache(registry, "l2-authors", hibernateStatistics,
+                s -> regionStats(s, SecondLevelCacheConfiguration.AUTHOR_REGION));
+        bindCache(registry, "l2-news", hibernateStatistics,
+                s -> regionStats(s, SecondLevelCacheConfiguration.NEWS_REGION));
+        bindCache(registry, "l2-queries", hibernateStatistics,
+                s -> regionStats(s, SecondLevelCacheConfiguration.QUERY_REGION));
+
+        Gauge.builder("news.executor.queued", imageVariantService, ImageVariantService::queueSize)
+                .description("Tasks waiting for a thread")
+                .tag("executor", "image-variants")
+                .register(registry);
+        Gauge.builder("news.executor.active", imageVariantService, ImageVariantService::activeCount)
+                .description("Tasks running")
+                .tag("executor", "image-variants")
+                .register(registry);
+        Gauge.builder("news.limiter.waiting", passwordEncoder, BoundedPasswordEncoder::waitingCount)
+                .description("Callers waiting for a permit")
+                .tag("limiter", "password-hashing")
+                .register(registry);
+        Gauge.builder("news.limiter.active", passwordEncoder, BoundedPasswordEncoder::activeCount)
+                .description("Callers holding a permit")
+                .tag("limiter", "password-hashing")
+                .register(registry);
+        FunctionCounter.builder("news.limiter.rejected", passwordEncoder, BoundedPasswordEncoder::rejectedCount)
+                .description("Callers turned away because too many were waiting or the wait timed out")
+                .tag("limiter", "password-hashing")
+                .register(registry);
+
+        FunctionCounter.builder("news.search.prefix.truncated", searchIndex, NewsSearchIndex::truncatedPrefixCount)
+                .description("Searches whose trailing prefix matched too many terms, only the most frequent were searched")
+                .register(registry);
+    }
+
+    // Meters only hold a weak reference to their source, so it must be the long-lived bean itself
+    private static <T> void bindCache(MeterRegistry registry, String name, T source, Function<T, CacheStats> stats) {
+        FunctionCounter.builder("news.cache.gets", source, s -> stats.apply(s).hits())
+                .description("Cache lookups")
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("news.cache.gets", source, s -> stats.apply(s).misses())
+                .description("Cache lookups")
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        Gauge.builder("news.cache.hit.ratio", source, s -> stats.apply(s).hitRatio())
+                .description("Share of lookups answered from the cache since startup")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private static CacheStats regionStats(Statistics statistics, String region) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+        return stats != null ? new CacheStats(stats.getHitCount(), stats.getMissCount(), 0) : new CacheStats(0, 0, 0);
+    }
+}
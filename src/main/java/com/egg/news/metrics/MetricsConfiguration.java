@@ -0,0 +1,61 @@
+package com.egg.news.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Instrumentation beyond what Spring Boot binds on its own (HTTP requests, HikariCP, Hibernate statistics, JVM):
+ * timers on the services annotated with @Timed and the number of SQL statements per request.
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    // Name of the DataSource used by JPA, JdbcTemplate and Spring Session, with or without a replica
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public MetricsConfiguration(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Times every public method of classes annotated with @Timed
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Counts the statements of the application's DataSource; the pools behind it are left as they are
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        ? new QueryCountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    // Applied by Spring Boot to the application task executor, which runs the asynchronous responses of Spring MVC
+    @Bean
+    public TaskDecorator queryCounterTaskDecorator() {
+        return QueryCounter.taskDecorator();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(meterRegistry));
+    }
+}
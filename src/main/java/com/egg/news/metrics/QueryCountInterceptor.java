@@ -0,0 +1,65 @@
+package com.egg.news.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the number of SQL statements issued by each request, per endpoint, as the distribution
+ * news.http.queries. Pages whose count grows with the number of rows show an N+1 load.
+ * Asynchronous requests, such as streamed images, keep the counter of their first dispatch: the statements
+ * of the task producing the response and of the final dispatch are added to it, and it is recorded once.
+ */
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String COUNTER_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".counter";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                && request.getAttribute(COUNTER_ATTRIBUTE) instanceof AtomicLong counter) {
+            QueryCounter.bind(counter);
+            return true;
+        }
+        AtomicLong counter = new AtomicLong();
+        request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        QueryCounter.bind(counter);
+        return true;
+    }
+
+    // The response is produced on another thread; this one goes back to the pool
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCounter.bind(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryCounter.bind(null);
+        if (!(request.getAttribute(COUNTER_ATTRIBUTE) instanceof AtomicLong counter)) {
+            return;
+        }
+        // Same uri tag as http.server.requests, so both can be joined on it
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("news.http.queries")
+                .description("SQL statements issued per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(counter.get());
+    }
+}
@@ -0,0 +1,68 @@
+package com.egg.news.metrics;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the SQL statements issued on behalf of each HTTP request.
+ * The counter of a request is bound to the thread serving it, and carried to the tasks that thread hands
+ * to the application task executor, such as streamed responses, so statements run there count too.
+ * Statements of threads without a counter, such as jobs and startup tasks, are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<AtomicLong> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+        // Private constructor to prevent instantiation, as this is a utility class.
+    }
+
+    /**
+     * Counts one statement against the counter bound to the current thread, if any.
+     */
+    public static void increment() {
+        AtomicLong counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * Binds a counter to the current thread.
+     *
+     * @param counter The counter, or null to unbind.
+     * @return The counter bound before, or null.
+     */
+    static AtomicLong bind(AtomicLong counter) {
+        AtomicLong previous = CURRENT.get();
+        if (counter == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(counter);
+        }
+        return previous;
+    }
+
+    /**
+     * Decorates tasks so they count against the counter of the thread submitting them.
+     *
+     * @return The task decorator.
+     */
+    static TaskDecorator taskDecorator() {
+        return task -> {
+            AtomicLong counter = CURRENT.get();
+            if (counter == null) {
+                return task;
+            }
+            return () -> {
+                AtomicLong previous = bind(counter);
+                try {
+                    task.run();
+                } finally {
+                    bind(previous);
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.egg.news.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource counting every statement run through its connections with {@link QueryCounter}, whichever
+ * API issues it: Hibernate, Spring Data, JdbcTemplate or plain JDBC.
+ * A prepared statement counts once however many times, or batches, it is executed;
+ * a plain statement counts once per execution.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                QueryCounter.increment();
+            }
+            Object result = invoke(method, connection, args);
+            return name.equals("createStatement") ? counting((Statement) result) : result;
+        });
+    }
+
+    private static Statement counting(Statement statement) {
+        return proxy(Statement.class, statement, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                QueryCounter.increment();
+            }
+            return invoke(method, statement, args);
+        });
+    }
+
+    // Proxy of one interface, equal only to itself as the pooled object it wraps would be
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                }));
+    }
+
+    // Calls the target, rethrowing what it threw rather than a reflection wrapper
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
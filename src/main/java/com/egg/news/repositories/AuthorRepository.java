@@ -1,12 +1,16 @@
 package com.egg.news.repositories;
 
+import com.egg.news.dto.AuthorView;
 import com.egg.news.entities.Author;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Author entities.
@@ -24,4 +28,58 @@ public interface AuthorRepository extends JpaRepository<Author, String> {
     @Query("SELECT a FROM Author a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Author> searchByName(@Param("name") String name);
 
+    /**
+     * Retrieves the views of all authors, ordered by name.
+     *
+     * @return List of views of all authors.
+     */
+    @Query("SELECT new com.egg.news.dto.AuthorView(a.id, a.name) FROM Author a ORDER BY a.name")
+    List<AuthorView> findAllViews();
+
+    /**
+     * Searches the views of authors by name, ordered by name.
+     *
+     * @param name The name to search for (case-insensitive).
+     * @return List of views of authors matching the provided name.
+     */
+    @Query("SELECT new com.egg.news.dto.AuthorView(a.id, a.name) FROM Author a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY a.name")
+    List<AuthorView> searchViewsByName(@Param("name") String name);
+
+    /**
+     * Retrieves the view of an author by its ID.
+     *
+     * @param id The ID of the author.
+     * @return The view of the author, if it exists.
+     */
+    @Query("SELECT new com.egg.news.dto.AuthorView(a.id, a.name) FROM Author a WHERE a.id = :id")
+    Optional<AuthorView> findViewById(@Param("id") String id);
+
+    /**
+     * Retrieves the views of the authors with the provided IDs, in a single query.
+     *
+     * @param ids The IDs of the authors.
+     * @return List of views of the authors found, in no particular order.
+     */
+    @Query("SELECT new com.egg.news.dto.AuthorView(a.id, a.name) FROM Author a WHERE a.id IN :ids")
+    List<AuthorView> findViewsByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Retrieves the views of the authors with any of the provided exact names, in a single query.
+     *
+     * @param names The names of the authors.
+     * @return List of views of the authors found, several per name if names are shared.
+     */
+    @Query("SELECT new com.egg.news.dto.AuthorView(a.id, a.name) FROM Author a WHERE a.name IN :names")
+    List<AuthorView> findViewsByNames(@Param("names") Collection<String> names);
+
+    /**
+     * Retrieves the views of the authors following the provided ID, in ID order, which is creation order.
+     *
+     * @param id    The ID to start after, or an empty string to start from the first author.
+     * @param limit The maximum number of rows to return.
+     * @return List of views of the authors following the ID.
+     */
+    @Query("SELECT new com.egg.news.dto.AuthorView(a.id, a.name) FROM Author a WHERE a.id > :id ORDER BY a.id")
+    List<AuthorView> findViewsAfter(@Param("id") String id, Pageable limit);
+
 }
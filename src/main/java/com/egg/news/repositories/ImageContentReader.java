@@ -0,0 +1,95 @@
+package com.egg.news.repositories;
+
+import com.egg.news.ids.UuidV7;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reads image content straight from the database in chunks of at most news.image.chunk-size bytes.
+ * Each chunk is its own short query read into a fixed buffer, and is written to the client once the connection
+ * is back in the pool, so neither the heap nor the pool depends on the size of the image or the speed of the client.
+ * When the content hash is known every chunk is matched against it, so a transfer never mixes two versions
+ * of the content. Chunks are large because the database locates each one from the start of the blob.
+ * IDs are bound in their BINARY(16) form.
+ */
+@Repository
+public class ImageContentReader {
+
+    private static final String LENGTH_SQL = "SELECT OCTET_LENGTH(content) FROM image WHERE id = ?";
+    private static final String CHUNK_SQL = "SELECT SUBSTRING(content, ?, ?) FROM image WHERE id = ?";
+    private static final String CHUNK_OF_HASH_SQL = CHUNK_SQL + " AND hash = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public ImageContentReader(JdbcTemplate jdbcTemplate, @Value("${news.image.chunk-size:1048576}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Retrieves the length of the content of an image.
+     *
+     * @param id The ID of the image.
+     * @return The length in bytes, or 0 if the image has no content.
+     */
+    public long length(String id) {
+        Long length = jdbcTemplate.queryForObject(LENGTH_SQL, Long.class, (Object) UuidV7.toBytes(id));
+        return length != null ? length : 0;
+    }
+
+    /**
+     * Copies a range of the content of an image to the provided stream.
+     *
+     * @param id     The ID of the image.
+     * @param hash   The hex-encoded SHA-256 of the content to copy, or null if not known yet.
+     * @param offset The zero-based offset of the first byte to copy.
+     * @param length The number of bytes to copy.
+     * @param out    The stream to write to.
+     * @throws IOException If the content changed or ended before the range was copied, or writing to the stream fails.
+     */
+    public void copy(String id, String hash, long offset, long length, OutputStream out) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        byte[] buffer = new byte[(int) Math.min(chunkSize, length)];
+        byte[] idBytes = UuidV7.toBytes(id);
+        long position = offset;
+        long end = offset + length;
+        while (position < end) {
+            int size = (int) Math.min(buffer.length, end - position);
+            // SQL substrings are one-based
+            Integer read = hash == null
+                    ? jdbcTemplate.query(CHUNK_SQL, chunkReader(buffer, size), position + 1, size, idBytes)
+                    : jdbcTemplate.query(CHUNK_OF_HASH_SQL, chunkReader(buffer, size), position + 1, size, idBytes, hash);
+            if (read == null || read <= 0) {
+                throw new IOException("Content of image " + id + " changed or ended during the transfer");
+            }
+            out.write(buffer, 0, read);
+            position += read;
+        }
+    }
+
+    // Reads the chunk of the single result row into the buffer, returning its length, or null if there is no row
+    private static ResultSetExtractor<Integer> chunkReader(byte[] buffer, int size) {
+        return resultSet -> {
+            if (!resultSet.next()) {
+                return null;
+            }
+            try (InputStream in = resultSet.getBinaryStream(1)) {
+                return in != null ? in.readNBytes(buffer, 0, size) : 0;
+            } catch (IOException e) {
+                throw new DataRetrievalFailureException("Unable to read image content", e);
+            }
+        };
+    }
+}
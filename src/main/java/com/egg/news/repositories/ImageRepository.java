@@ -1,17 +1,141 @@
 package com.egg.news.repositories;
 
+import com.egg.news.dto.ImageMetadata;
 import com.egg.news.entities.Image;
+import com.egg.news.enums.ImageStorageType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
- * Repository interface for managing Author entities.
+ * Repository interface for managing Image entities.
  * Extends JpaRepository for basic CRUD operations.
  */
 @Repository
 public interface ImageRepository extends JpaRepository<Image, String> {
 
+    /**
+     * Retrieves the metadata of the profile image of a user, without loading its content.
+     *
+     * @param idUser The ID of the user.
+     * @return The metadata of the profile image, if the user has one.
+     */
+    @Query("SELECT new com.egg.news.dto.ImageMetadata(i.id, i.mime, i.hash, i.size, i.storage) FROM User u JOIN u.image i WHERE u.id = :idUser")
+    Optional<ImageMetadata> findProfileMetadata(@Param("idUser") String idUser);
 
+    /**
+     * Stores the checksum and length of an image uploaded before they were recorded.
+     *
+     * @param id   The ID of the image.
+     * @param hash The hex-encoded SHA-256 of the content.
+     * @param size The length of the content in bytes.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Image i SET i.hash = :hash, i.size = :size WHERE i.id = :id")
+    void updateChecksum(@Param("id") String id, @Param("hash") String hash, @Param("size") Long size);
+
+    /**
+     * Retrieves, in ID order, the IDs of images whose content still lives in the database.
+     *
+     * @param after Only IDs greater than this one are returned.
+     * @param limit The maximum number of IDs to return.
+     * @return List of IDs of images stored in the database.
+     */
+    @Query("SELECT i.id FROM Image i WHERE (i.storage IS NULL OR i.storage = com.egg.news.enums.ImageStorageType.DATABASE) AND i.id > :after ORDER BY i.id")
+    List<String> findDatabaseStoredIds(@Param("after") String after, Pageable limit);
+
+    /**
+     * Points an image at content moved to another backend and drops its database copy.
+     *
+     * @param id      The ID of the image.
+     * @param storage The backend now holding the content.
+     * @param hash    The hex-encoded SHA-256 of the content.
+     * @param size    The length of the content in bytes.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Image i SET i.storage = :storage, i.hash = :hash, i.size = :size, i.content = null WHERE i.id = :id")
+    void moveContent(@Param("id") String id, @Param("storage") ImageStorageType storage, @Param("hash") String hash, @Param("size") Long size);
+
+    /**
+     * Retrieves the metadata of an image by its ID, without loading its content.
+     *
+     * @param id The ID of the image.
+     * @return The metadata of the image, if it exists.
+     */
+    @Query("SELECT new com.egg.news.dto.ImageMetadata(i.id, i.mime, i.hash, i.size, i.storage) FROM Image i WHERE i.id = :id")
+    Optional<ImageMetadata> findMetadataById(@Param("id") String id);
+
+    /**
+     * Retrieves the checksum of an image, without loading its content.
+     *
+     * @param id The ID of the image.
+     * @return The hex-encoded SHA-256 of the content, if the image exists and has one.
+     */
+    @Query("SELECT i.hash FROM Image i WHERE i.id = :id")
+    Optional<String> findHashById(@Param("id") String id);
+
+    /**
+     * Retrieves the metadata of the resized variants of the current content of an image that fit at least
+     * the provided dimension, smallest first. Variants made from a replaced content are never returned.
+     *
+     * @param idOriginal The ID of the original image.
+     * @param dimension  The minimum bounding box in pixels.
+     * @param limit      The maximum number of variants to return.
+     * @return List of metadata of the matching variants.
+     */
+    @Query("SELECT new com.egg.news.dto.ImageMetadata(v.id, v.mime, v.hash, v.size, v.storage) FROM Image v JOIN v.original o " +
+            "WHERE o.id = :idOriginal AND v.sourceHash = o.hash AND v.dimension >= :dimension ORDER BY v.dimension ASC")
+    List<ImageMetadata> findVariants(@Param("idOriginal") String idOriginal, @Param("dimension") int dimension, Pageable limit);
+
+    /**
+     * Checks whether a variant of a given content of an image already exists for a dimension.
+     *
+     * @param idOriginal The ID of the original image.
+     * @param sourceHash The hex-encoded SHA-256 of the original content the variant must be made from.
+     * @param dimension  The bounding box in pixels.
+     * @return true if the variant exists.
+     */
+    @Query("SELECT COUNT(v) > 0 FROM Image v WHERE v.original.id = :idOriginal AND v.sourceHash = :sourceHash AND v.dimension = :dimension")
+    boolean existsVariant(@Param("idOriginal") String idOriginal, @Param("sourceHash") String sourceHash, @Param("dimension") int dimension);
+
+    /**
+     * Deletes the variant of an image for a dimension, whichever content it was made from.
+     *
+     * @param idOriginal The ID of the original image.
+     * @param dimension  The bounding box in pixels.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Image v WHERE v.original.id = :idOriginal AND v.dimension = :dimension")
+    void deleteVariant(@Param("idOriginal") String idOriginal, @Param("dimension") int dimension);
+
+    /**
+     * Retrieves which of the provided content hashes are still used by an image or a variant.
+     *
+     * @param hashes The hex-encoded SHA-256 hashes to check.
+     * @return The hashes referenced by at least one image.
+     */
+    @Query("SELECT DISTINCT i.hash FROM Image i WHERE i.hash IN :hashes")
+    Set<String> findReferencedHashes(@Param("hashes") Collection<String> hashes);
+
+    /**
+     * Deletes every resized variant of an image, used when its content is replaced.
+     *
+     * @param idOriginal The ID of the original image.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Image v WHERE v.original.id = :idOriginal")
+    void deleteVariants(@Param("idOriginal") String idOriginal);
 }
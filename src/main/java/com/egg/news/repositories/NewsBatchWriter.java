@@ -0,0 +1,115 @@
+package com.egg.news.repositories;
+
+import com.egg.news.entities.News;
+import com.egg.news.ids.UuidV7;
+import com.egg.news.utils.ExcerptUtils;
+import com.egg.news.utils.TransactionUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Writes news straight through JDBC batches, bypassing the persistence context,
+ * so bulk imports and backfills neither track one entity per row nor flush them one statement at a time.
+ * IDs are bound in their BINARY(16) form.
+ * Hibernate does not see these writes, so the second-level cache entries they outdate are evicted once they commit.
+ */
+@Repository
+public class NewsBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO news (id, title, body, excerpt, status, date, author_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MISSING_EXCERPTS_SQL = "SELECT id, body FROM news WHERE excerpt IS NULL AND id > ? ORDER BY id LIMIT ?";
+    // A row edited since it was read already has a current excerpt, which must not be overwritten
+    private static final String UPDATE_EXCERPT_SQL = "UPDATE news SET excerpt = ? WHERE id = ? AND excerpt IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionFactory sessionFactory;
+
+    /**
+     * A visible news article ready to be inserted.
+     *
+     * @param id       The ID of the news, generated by the caller.
+     * @param title    The title of the news.
+     * @param body     The body content of the news.
+     * @param date     The date of the news.
+     * @param authorId The ID of an existing author.
+     */
+    public record Row(String id, String title, String body, Date date, String authorId) {
+    }
+
+    /**
+     * The body of a news article, or the excerpt computed from it.
+     *
+     * @param id   The ID of the news.
+     * @param text The body or the excerpt.
+     */
+    public record Text(String id, String text) {
+    }
+
+    @Autowired
+    public NewsBatchWriter(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Inserts the rows as one JDBC batch.
+     *
+     * @param rows The rows to insert.
+     */
+    public void insert(List<Row> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setBytes(1, UuidV7.toBytes(row.id()));
+            statement.setString(2, row.title());
+            statement.setString(3, row.body());
+            statement.setString(4, ExcerptUtils.excerpt(row.body()));
+            statement.setBoolean(5, true);
+            statement.setTimestamp(6, new Timestamp(row.date().getTime()));
+            statement.setBytes(7, UuidV7.toBytes(row.authorId()));
+        });
+        // Cached lists of visible news are missing the new rows
+        TransactionUtils.afterCommit(() -> sessionFactory.getCache().evictQueryRegions());
+    }
+
+    /**
+     * Inserts a single row.
+     *
+     * @param row The row to insert.
+     */
+    public void insert(Row row) {
+        insert(List.of(row));
+    }
+
+    /**
+     * Retrieves the bodies of news without an excerpt, in ID order.
+     *
+     * @param after The ID to start after, or an empty string to start from the first news.
+     * @param limit The maximum number of rows to return.
+     * @return The IDs and bodies of the news found.
+     */
+    public List<Text> findMissingExcerpts(String after, int limit) {
+        return jdbcTemplate.query(MISSING_EXCERPTS_SQL,
+                (rs, rowNum) -> new Text(UuidV7.fromBytes(rs.getBytes(1)), rs.getString(2)),
+                UuidV7.toBytes(after), limit);
+    }
+
+    /**
+     * Stores computed excerpts as one JDBC batch, skipping news that got an excerpt meanwhile.
+     *
+     * @param excerpts The IDs and excerpts of the news.
+     */
+    public void updateExcerpts(List<Text> excerpts) {
+        jdbcTemplate.batchUpdate(UPDATE_EXCERPT_SQL, excerpts, excerpts.size(), (statement, excerpt) -> {
+            statement.setString(1, excerpt.text());
+            statement.setBytes(2, UuidV7.toBytes(excerpt.id()));
+        });
+        TransactionUtils.afterCommit(() -> excerpts.forEach(excerpt ->
+                sessionFactory.getCache().evictEntityData(News.class, excerpt.id())));
+    }
+}
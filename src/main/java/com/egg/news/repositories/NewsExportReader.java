@@ -0,0 +1,45 @@
+package com.egg.news.repositories;
+
+import com.egg.news.dto.NewsView;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Reads the whole news corpus for export through a forward-only cursor, as read-only views that never enter
+ * the persistence context. On MySQL, Connector/J streams the rows one at a time for this query only, when
+ * its fetch size is Integer.MIN_VALUE; every other query keeps reading its result at once, without the
+ * round trip per batch that useCursorFetch would add to them. Other databases fetch FETCH_SIZE rows at a time.
+ */
+@Repository
+public class NewsExportReader {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    @Autowired
+    public NewsExportReader(EntityManager entityManager, @Value("${spring.datasource.url:}") String url) {
+        this.entityManager = entityManager;
+        // Any other driver rejects a negative fetch size
+        this.fetchSize = url.startsWith("jdbc:mysql:") ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+
+    /**
+     * Streams the views of every visible news article, newest first. Must be consumed and closed
+     * inside a transaction, without running other statements until then.
+     *
+     * @return Stream of views of all visible news.
+     */
+    public Stream<NewsView> streamViews() {
+        return entityManager.createQuery(NewsRepository.SELECT_VIEW + " WHERE n.status = true ORDER BY n.date DESC, n.id DESC", NewsView.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,102 @@
+package com.egg.news.repositories;
+
+import com.egg.news.dto.NewsCursor;
+import com.egg.news.enums.NewsField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Queries on news that select only the columns of the requested fields.
+ * Statements are assembled from the fixed column paths of {@link NewsField}, never from request text,
+ * and the author is only joined when its fields are selected. The ID and date are always selected,
+ * as pages are positioned on them; they are read under the aliases {@link #ID} and {@link #DATE}.
+ */
+@Repository
+public class NewsFieldQueries {
+
+    public static final String ID = "id";
+    public static final String DATE = "date";
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public NewsFieldQueries(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Streams visible news older than the provided position, newest first.
+     * Must be consumed and closed inside a transaction.
+     *
+     * @param fields   The fields to select.
+     * @param idAuthor The ID of the author to filter by, or null for every author.
+     * @param after    The position to start after.
+     * @param limit    The maximum number of rows to return.
+     * @return Stream of tuples holding the selected columns, by their {@link NewsField} alias.
+     */
+    public Stream<Tuple> streamAfter(Set<NewsField> fields, String idAuthor, NewsCursor after, int limit) {
+        StringBuilder jpql = select(fields).append(" WHERE n.status = true");
+        if (idAuthor != null) {
+            // Compared on the foreign key, without joining the author
+            jpql.append(" AND n.author.id = :idAuthor");
+        }
+        jpql.append(NewsRepository.AFTER_CURSOR);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("date", after.date())
+                .setParameter("id", after.id())
+                .setMaxResults(limit);
+        if (idAuthor != null) {
+            query.setParameter("idAuthor", idAuthor);
+        }
+        return query.getResultStream();
+    }
+
+    /**
+     * Retrieves the selected fields of a visible news article.
+     *
+     * @param fields The fields to select.
+     * @param id     The ID of the news.
+     * @return The tuple holding the selected columns, if the news exists and is visible.
+     */
+    public Optional<Tuple> findById(Set<NewsField> fields, String id) {
+        String jpql = select(fields).append(" WHERE n.status = true AND n.id = :id").toString();
+        return entityManager.createQuery(jpql, Tuple.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Returns the alias a column of a field is selected under.
+     *
+     * @param field The field.
+     * @param index The index of the column among those of the field.
+     * @return The alias of the column in the returned tuples.
+     */
+    public static String alias(NewsField field, int index) {
+        return field.getName() + index;
+    }
+
+    private static StringBuilder select(Set<NewsField> fields) {
+        StringBuilder jpql = new StringBuilder("SELECT n.id AS " + ID + ", n.date AS " + DATE);
+        for (NewsField field : fields) {
+            String[] columns = field.getColumns();
+            for (int i = 0; i < columns.length; i++) {
+                jpql.append(", ").append(columns[i]).append(" AS ").append(alias(field, i));
+            }
+        }
+        jpql.append(" FROM News n");
+        if (fields.contains(NewsField.AUTHOR)) {
+            jpql.append(" JOIN n.author a");
+        }
+        return jpql;
+    }
+}
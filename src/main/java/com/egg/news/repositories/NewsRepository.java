@@ -1,11 +1,20 @@
 package com.egg.news.repositories;
 
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.dto.NewsView;
+import com.egg.news.utils.ExcerptUtils;
 import com.egg.news.entities.News;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,39 +24,151 @@ import java.util.List;
 @Repository
 public interface NewsRepository extends JpaRepository<News, String> {
 
+    /*
+    Read model.
+    Views are selected with the author joined in the same statement, so a page of any size
+    runs exactly one query and never depends on an open persistence context.
+    Listings select summaries, which carry the excerpt and never read the body column; rows whose
+    excerpt has not been backfilled yet fall back to the start of their body.
+    The pages every visitor walks through, the listing, the pages of an author and the rows of ranked
+    search pages, are cacheable: Hibernate keeps their results until news or authors change. Title searches
+    against the database only run until the search index is built and are left out.
+    */
+
+    String SELECT_VIEW = "SELECT new com.egg.news.dto.NewsView(n.id, n.title, n.body, n.date, a.id, a.name) FROM News n JOIN n.author a";
+
+    String EXCERPT = "COALESCE(n.excerpt, SUBSTRING(n.body, 1, " + ExcerptUtils.MAX_LENGTH + "))";
+
+    String SELECT_SUMMARY = "SELECT new com.egg.news.dto.NewsSummary(n.id, n.title, " + EXCERPT + ", n.date, a.id, a.name) FROM News n JOIN n.author a";
+
+    /**
+     * Retrieves the summaries of visible news articles with the provided IDs, in no particular order.
+     *
+     * @param ids The IDs of the news articles.
+     * @return List of summaries of the visible news articles found.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY + " WHERE n.status = true AND n.id IN :ids")
+    List<NewsSummary> findSummariesByIds(@Param("ids") Collection<String> ids);
+
+    /*
+    Keyset pagination.
+    Rows are ordered by (date, id) descending; "after" queries walk towards older news
+    and "before" queries walk back towards newer news in ascending order, so callers must
+    reverse their result. The Pageable is only used as a row limit, never as an offset.
+    */
+
+    String AFTER_CURSOR = " AND (n.date < :date OR (n.date = :date AND n.id < :id)) ORDER BY n.date DESC, n.id DESC";
+    String BEFORE_CURSOR = " AND (n.date > :date OR (n.date = :date AND n.id > :id)) ORDER BY n.date ASC, n.id ASC";
+
+    /**
+     * Retrieves the full views of visible news older than the provided position, for building the search index.
+     *
+     * @param date  The date of the cursor.
+     * @param id    The ID of the cursor.
+     * @param limit The maximum number of rows to return.
+     * @return List of views of news following the cursor, newest first.
+     */
+    @Query(SELECT_VIEW + " WHERE n.status = true" + AFTER_CURSOR)
+    List<NewsView> findViewsAfter(@Param("date") Date date, @Param("id") String id, Pageable limit);
+
+    /**
+     * Retrieves visible news older than the provided position.
+     *
+     * @param date  The date of the cursor.
+     * @param id    The ID of the cursor.
+     * @param limit The maximum number of rows to return.
+     * @return List of summaries of news following the cursor, newest first.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY + " WHERE n.status = true" + AFTER_CURSOR)
+    List<NewsSummary> getListNewsAfter(@Param("date") Date date, @Param("id") String id, Pageable limit);
+
+    /**
+     * Retrieves visible news newer than the provided position.
+     *
+     * @param date  The date of the cursor.
+     * @param id    The ID of the cursor.
+     * @param limit The maximum number of rows to return.
+     * @return List of summaries of news preceding the cursor, oldest first.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY + " WHERE n.status = true" + BEFORE_CURSOR)
+    List<NewsSummary> getListNewsBefore(@Param("date") Date date, @Param("id") String id, Pageable limit);
+
     /**
-     * Custom query method to search for news by title.
+     * Searches news by title, older than the provided position.
      *
      * @param title The title to search for (case-insensitive).
-     * @return List of news matching the provided title.
+     * @param date  The date of the cursor.
+     * @param id    The ID of the cursor.
+     * @param limit The maximum number of rows to return.
+     * @return List of summaries of matching news following the cursor, newest first.
      */
-    @Query("SELECT n FROM News n WHERE n.status = true AND LOWER(n.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<News> searchByTitle(@Param("title") String title);
+    @Query(SELECT_SUMMARY + " WHERE n.status = true AND LOWER(n.title) LIKE LOWER(CONCAT('%', :title, '%'))" + AFTER_CURSOR)
+    List<NewsSummary> searchByTitleAfter(@Param("title") String title, @Param("date") Date date, @Param("id") String id, Pageable limit);
 
     /**
-     * Custom query method to search for news by author ID.
+     * Searches news by title, newer than the provided position.
+     *
+     * @param title The title to search for (case-insensitive).
+     * @param date  The date of the cursor.
+     * @param id    The ID of the cursor.
+     * @param limit The maximum number of rows to return.
+     * @return List of summaries of matching news preceding the cursor, oldest first.
+     */
+    @Query(SELECT_SUMMARY + " WHERE n.status = true AND LOWER(n.title) LIKE LOWER(CONCAT('%', :title, '%'))" + BEFORE_CURSOR)
+    List<NewsSummary> searchByTitleBefore(@Param("title") String title, @Param("date") Date date, @Param("id") String id, Pageable limit);
+
+    /**
+     * Searches news by author ID, older than the provided position.
+     *
+     * @param idAuthor The ID of the author to search for.
+     * @param date     The date of the cursor.
+     * @param id       The ID of the cursor.
+     * @param limit    The maximum number of rows to return.
+     * @return List of summaries of matching news following the cursor, newest first.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY + " WHERE n.status = true AND a.id = :idAuthor" + AFTER_CURSOR)
+    List<NewsSummary> searchByAuthorAfter(@Param("idAuthor") String idAuthor, @Param("date") Date date, @Param("id") String id, Pageable limit);
+
+    /**
+     * Searches news by author ID, newer than the provided position.
      *
      * @param idAuthor The ID of the author to search for.
-     * @return List of news authored by the provided author.
+     * @param date     The date of the cursor.
+     * @param id       The ID of the cursor.
+     * @param limit    The maximum number of rows to return.
+     * @return List of summaries of matching news preceding the cursor, oldest first.
      */
-    @Query("SELECT n FROM News n WHERE n.status = true AND n.author.id = :idAuthor")
-    List<News> searchByAuthor(@Param("idAuthor") String idAuthor);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY + " WHERE n.status = true AND a.id = :idAuthor" + BEFORE_CURSOR)
+    List<NewsSummary> searchByAuthorBefore(@Param("idAuthor") String idAuthor, @Param("date") Date date, @Param("id") String id, Pageable limit);
 
     /**
-     * Custom query method to search for news by title and author ID.
+     * Searches news by title and author ID, older than the provided position.
      *
      * @param title    The title to search for (case-insensitive).
      * @param idAuthor The ID of the author to search for.
-     * @return List of news matching the provided title and authored by the provided author.
+     * @param date     The date of the cursor.
+     * @param id       The ID of the cursor.
+     * @param limit    The maximum number of rows to return.
+     * @return List of summaries of matching news following the cursor, newest first.
      */
-    @Query("SELECT n FROM News n WHERE n.status = true AND LOWER(n.title) LIKE LOWER(CONCAT('%', :title, '%')) AND n.author.id = :idAuthor")
-    List<News> searchByTitleAndAuthor(@Param("title") String title, @Param("idAuthor") String idAuthor);
+    @Query(SELECT_SUMMARY + " WHERE n.status = true AND LOWER(n.title) LIKE LOWER(CONCAT('%', :title, '%')) AND a.id = :idAuthor" + AFTER_CURSOR)
+    List<NewsSummary> searchByTitleAndAuthorAfter(@Param("title") String title, @Param("idAuthor") String idAuthor, @Param("date") Date date, @Param("id") String id, Pageable limit);
 
     /**
-     * Custom query method to get a list of all news with status set to true.
+     * Searches news by title and author ID, newer than the provided position.
      *
-     * @return List of all news with status set to true.
+     * @param title    The title to search for (case-insensitive).
+     * @param idAuthor The ID of the author to search for.
+     * @param date     The date of the cursor.
+     * @param id       The ID of the cursor.
+     * @param limit    The maximum number of rows to return.
+     * @return List of summaries of matching news preceding the cursor, oldest first.
      */
-    @Query("SELECT n FROM News n WHERE n.status = true")
-    List<News> getListNews();
+    @Query(SELECT_SUMMARY + " WHERE n.status = true AND LOWER(n.title) LIKE LOWER(CONCAT('%', :title, '%')) AND a.id = :idAuthor" + BEFORE_CURSOR)
+    List<NewsSummary> searchByTitleAndAuthorBefore(@Param("title") String title, @Param("idAuthor") String idAuthor, @Param("date") Date date, @Param("id") String id, Pageable limit);
 }
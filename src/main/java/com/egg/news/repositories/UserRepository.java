@@ -1,7 +1,9 @@
 package com.egg.news.repositories;
 
+import com.egg.news.dto.UserCredentials;
 import com.egg.news.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,4 +14,14 @@ public interface UserRepository extends JpaRepository<User,String> {
     @Query ("SELECT u FROM User u WHERE u.email = :email")
     public User searchByEmail(@Param("email") String email);
 
+    // Authentication reads only these columns, through the unique email index, and never touches the image row
+    @Query("SELECT new com.egg.news.dto.UserCredentials(u.id, u.name, u.email, u.password, u.role, u.image.id) FROM User u WHERE u.email = :email")
+    public UserCredentials findCredentialsByEmail(@Param("email") String email);
+
+    public boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    public int updatePassword(@Param("email") String email, @Param("password") String password);
+
 }
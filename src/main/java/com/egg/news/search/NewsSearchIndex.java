@@ -0,0 +1,384 @@
+package com.egg.news.search;
+
+import com.egg.news.dto.NewsView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory inverted index over the title and body of visible news.
+ * Every term keeps positional postings per field, which are used to score BM25 relevance
+ * and to boost documents where the query appears as an exact phrase.
+ * Searches are lock-free and only keep the requested number of best hits ordered;
+ * single-document updates are serialized so a replace is never interleaved.
+ */
+@Component
+public class NewsSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsSearchIndex.class);
+
+    // BM25 parameters, with title occurrences counting as several body occurrences
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final double PHRASE_BOOST = 2.0;
+
+    // Maximum number of dictionary terms a trailing prefix may expand to, the most frequent ones are kept
+    static final int MAX_PREFIX_EXPANSION = 64;
+
+    // Best hit first: highest score, then most recent, then by ID so the order is stable
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score)
+            .thenComparingLong(Hit::date)
+            .reversed()
+            .thenComparing(Hit::id);
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    // Term dictionary, sorted so the last query term can be matched as a prefix
+    private final ConcurrentSkipListMap<String, Map<String, Posting>> terms = new ConcurrentSkipListMap<>();
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    private final AtomicLong totalLength = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final LongAdder truncatedPrefixes = new LongAdder();
+
+    // IDs removed while the initial build is running, so the build does not resurrect them
+    private final Set<String> removedDuringBuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    /**
+     * Positions of one term inside one document.
+     *
+     * @param title Sorted positions inside the title.
+     * @param body  Sorted positions inside the body.
+     */
+    private record Posting(int[] title, int[] body) {
+
+        double weightedFrequency() {
+            return TITLE_WEIGHT * title.length + body.length;
+        }
+    }
+
+    /**
+     * Per-document data needed for filtering, ranking and removal.
+     */
+    private record Document(String authorId, long date, int length, Set<String> terms) {
+    }
+
+    /**
+     * Result of tokenizing one news article, computed outside of any lock.
+     */
+    private record Analyzed(String id, Document document, Map<String, Posting> postings) {
+    }
+
+    /**
+     * Scored search result, ties broken by recency.
+     */
+    private record Hit(String id, double score, long date) {
+    }
+
+    /**
+     * Top of the ranking of a search.
+     *
+     * @param ids   IDs of the best matching news, most relevant first.
+     * @param total The number of matching news, including those beyond the requested limit.
+     */
+    public record SearchResult(List<String> ids, int total) {
+
+        static final SearchResult EMPTY = new SearchResult(List.of(), 0);
+    }
+
+    /**
+     * Indicates whether the initial build has finished and searches are complete.
+     *
+     * @return true if the index covers every visible news article.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the number of indexed news articles.
+     *
+     * @return The number of documents in the index.
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Adds a batch of news during the initial build or a bulk import, tokenizing the articles in parallel.
+     * Documents already indexed by a concurrent write are left untouched, as they are newer.
+     *
+     * @param batch The news articles to add.
+     */
+    public void addAll(Collection<NewsView> batch) {
+        List<Analyzed> analyzed = batch.parallelStream()
+                .map(NewsSearchIndex::analyze)
+                .toList();
+        writeLock.lock();
+        try {
+            analyzed.parallelStream()
+                    .filter(document -> !removedDuringBuild.contains(document.id()))
+                    .filter(document -> documents.putIfAbsent(document.id(), document.document()) == null)
+                    .forEach(this::addPostings);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the initial build as finished.
+     */
+    public void markReady() {
+        ready = true;
+        removedDuringBuild.clear();
+        logger.info("News search index ready with {} documents and {} terms", documents.size(), terms.size());
+    }
+
+    /**
+     * Indexes a visible news article, replacing any previous version of it.
+     *
+     * @param news The news article to index.
+     */
+    public void index(NewsView news) {
+        Analyzed analyzed = analyze(news);
+        writeLock.lock();
+        try {
+            removeDocument(analyzed.id());
+            documents.put(analyzed.id(), analyzed.document());
+            addPostings(analyzed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a news article from the index.
+     *
+     * @param id The ID of the news article to remove.
+     */
+    public void remove(String id) {
+        writeLock.lock();
+        try {
+            if (!ready) {
+                removedDuringBuild.add(id);
+            }
+            removeDocument(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches whose trailing prefix matched more than MAX_PREFIX_EXPANSION terms,
+     * so only the most frequent ones were searched.
+     *
+     * @return The number of truncated prefix expansions since startup.
+     */
+    public long truncatedPrefixCount() {
+        return truncatedPrefixes.sum();
+    }
+
+    /**
+     * Searches the index for news matching every term of the query.
+     * The last term also matches as a prefix, so partially typed words still find results.
+     * Every match is scored, but only the best {@code limit} are kept and sorted.
+     *
+     * @param query    The free-text query.
+     * @param idAuthor The ID of the author to filter by, or null for every author.
+     * @param limit    The maximum number of IDs to return.
+     * @return The best matching IDs, most relevant first, and the number of matches.
+     */
+    public SearchResult search(String query, String idAuthor, int limit) {
+        List<String> queryTerms = Tokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return SearchResult.EMPTY;
+        }
+
+        // Postings of every query term, the trailing one merged across its prefix expansions
+        List<Map<String, Posting>> matches = new ArrayList<>(queryTerms.size());
+        for (int i = 0; i < queryTerms.size(); i++) {
+            Map<String, Posting> postings = i == queryTerms.size() - 1
+                    ? prefixPostings(queryTerms.get(i))
+                    : terms.get(queryTerms.get(i));
+            if (postings == null || postings.isEmpty()) {
+                return SearchResult.EMPTY;
+            }
+            matches.add(postings);
+        }
+
+        // Iterate the rarest term and probe the others
+        Map<String, Posting> rarest = matches.stream().min(Comparator.comparingInt(Map::size)).orElseThrow();
+        double averageLength = Math.max(1.0, (double) totalLength.get() / Math.max(1, documents.size()));
+        // Worst kept hit at the head, evicted when a better one arrives
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(limit, rarest.size()) + 1, RANKING.reversed());
+        int total = 0;
+
+        for (String id : rarest.keySet()) {
+            Document document = documents.get(id);
+            if (document == null || (idAuthor != null && !idAuthor.equals(document.authorId()))) {
+                continue;
+            }
+            Posting[] postings = new Posting[matches.size()];
+            double score = 0;
+            for (int i = 0; i < matches.size() && score >= 0; i++) {
+                postings[i] = matches.get(i).get(id);
+                if (postings[i] == null) {
+                    score = -1;
+                } else {
+                    double frequency = postings[i].weightedFrequency();
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    score += idf(matches.get(i).size()) * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+            if (score < 0) {
+                continue;
+            }
+            if (postings.length > 1 && containsPhrase(postings)) {
+                score *= 1 + PHRASE_BOOST;
+            }
+            total++;
+            best.add(new Hit(id, score, document.date()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return new SearchResult(hits.stream().map(Hit::id).toList(), total);
+    }
+
+    private double idf(int documentFrequency) {
+        int total = Math.max(documents.size(), documentFrequency);
+        return Math.log(1 + (total - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private Map<String, Posting> prefixPostings(String prefix) {
+        NavigableMap<String, Map<String, Posting>> expansions = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (expansions.isEmpty()) {
+            return null;
+        }
+        Map<String, Posting> first = expansions.firstEntry().getValue();
+        if (expansions.higherKey(expansions.firstKey()) == null) {
+            return first;
+        }
+
+        // Keep the terms found in the most documents, a rare term adds little to the results
+        PriorityQueue<Map<String, Posting>> frequent = new PriorityQueue<>(MAX_PREFIX_EXPANSION + 1, Comparator.comparingInt(Map::size));
+        int expanded = 0;
+        for (Map<String, Posting> postings : expansions.values()) {
+            expanded++;
+            frequent.add(postings);
+            if (frequent.size() > MAX_PREFIX_EXPANSION) {
+                frequent.poll();
+            }
+        }
+        if (expanded > MAX_PREFIX_EXPANSION) {
+            truncatedPrefixes.increment();
+            logger.debug("Prefix '{}' matches {} terms, searching the {} most frequent", prefix, expanded, MAX_PREFIX_EXPANSION);
+        }
+
+        Map<String, Posting> merged = new HashMap<>();
+        frequent.forEach(postings ->
+                postings.forEach((id, posting) -> merged.merge(id, posting, (a, b) ->
+                        new Posting(union(a.title(), b.title()), union(a.body(), b.body())))));
+        return merged;
+    }
+
+    // True if the query terms appear consecutively in the title or in the body
+    private static boolean containsPhrase(Posting[] postings) {
+        return containsPhrase(postings, true) || containsPhrase(postings, false);
+    }
+
+    private static boolean containsPhrase(Posting[] postings, boolean title) {
+        int[] first = title ? postings[0].title() : postings[0].body();
+        for (int start : first) {
+            boolean phrase = true;
+            for (int i = 1; i < postings.length && phrase; i++) {
+                int[] positions = title ? postings[i].title() : postings[i].body();
+                phrase = Arrays.binarySearch(positions, start + i) >= 0;
+            }
+            if (phrase) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] merged = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, merged, a.length, b.length);
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static Analyzed analyze(NewsView news) {
+        List<String> title = Tokenizer.tokenize(news.title());
+        List<String> body = Tokenizer.tokenize(news.body());
+
+        Map<String, List<Integer>> titlePositions = positions(title);
+        Map<String, List<Integer>> bodyPositions = positions(body);
+
+        Map<String, Posting> postings = new HashMap<>();
+        for (String term : titlePositions.keySet()) {
+            postings.put(term, new Posting(toArray(titlePositions.get(term)), toArray(bodyPositions.get(term))));
+        }
+        for (String term : bodyPositions.keySet()) {
+            postings.putIfAbsent(term, new Posting(NO_POSITIONS, toArray(bodyPositions.get(term))));
+        }
+
+        long date = news.date() != null ? news.date().getTime() : 0;
+        Document document = new Document(news.authorId(), date, TITLE_WEIGHT * title.size() + body.size(), Set.copyOf(postings.keySet()));
+        return new Analyzed(news.id(), document, postings);
+    }
+
+    private static Map<String, List<Integer>> positions(List<String> tokens) {
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            positions.computeIfAbsent(tokens.get(i), term -> new ArrayList<>()).add(i);
+        }
+        return positions;
+    }
+
+    private static int[] toArray(List<Integer> positions) {
+        return positions == null ? NO_POSITIONS : positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void addPostings(Analyzed analyzed) {
+        analyzed.postings().forEach((term, posting) ->
+                terms.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(analyzed.id(), posting));
+        totalLength.addAndGet(analyzed.document().length());
+    }
+
+    private void removeDocument(String id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            terms.computeIfPresent(term, (key, postings) -> {
+                postings.remove(id);
+                return postings.isEmpty() ? null : postings;
+            });
+        }
+        totalLength.addAndGet(-document.length());
+    }
+}
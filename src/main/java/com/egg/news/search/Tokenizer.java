@@ -0,0 +1,58 @@
+package com.egg.news.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits free text into index terms.
+ * Terms are maximal runs of letters and digits, case-folded and stripped of diacritics,
+ * so "Economía" and "economia" produce the same term.
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+        // Private constructor to prevent instantiation, as this is a utility class.
+    }
+
+    /**
+     * Tokenizes the provided text, keeping the order of the terms.
+     * The index of each term in the result is its position inside the text.
+     *
+     * @param text The text to tokenize, may be null.
+     * @return List of terms in order of appearance.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        boolean ascii = true;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (start < 0) {
+                    start = i;
+                    ascii = true;
+                }
+                ascii &= c < 128;
+            } else if (start >= 0) {
+                tokens.add(normalize(text.substring(start, i), ascii));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Case-folds the term and removes combining marks left by decomposing accented letters
+    private static String normalize(String token, boolean ascii) {
+        String folded = token.toLowerCase(Locale.ROOT);
+        if (ascii) {
+            return folded;
+        }
+        return Normalizer.normalize(folded, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
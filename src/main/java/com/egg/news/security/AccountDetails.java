@@ -0,0 +1,37 @@
+package com.egg.news.security;
+
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.Serial;
+
+/**
+ * Spring Security principal that also carries the session summary of the user,
+ * so a successful login can populate the session without loading the user again.
+ */
+public class AccountDetails extends User {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final SessionUser sessionUser;
+
+    public AccountDetails(String email, String password, SessionUser sessionUser) {
+        super(email, password, AuthorityUtils.createAuthorityList("ROLE_" + sessionUser.role()));
+        this.sessionUser = sessionUser;
+    }
+
+    public SessionUser getSessionUser() {
+        return sessionUser;
+    }
+
+    /**
+     * Returns a copy of these details carrying another password hash.
+     *
+     * @param password The new password hash.
+     * @return The updated details.
+     */
+    public AccountDetails withPassword(String password) {
+        return new AccountDetails(getUsername(), password, sessionUser);
+    }
+}
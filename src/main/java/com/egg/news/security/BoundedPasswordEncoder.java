@@ -0,0 +1,165 @@
+package com.egg.news.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password encoder shared by registration, profile updates and login.
+ * Hashing runs on the caller's thread, but only a limited number at a time, so a burst of logins keeps
+ * some cores free for every other page. Callers beyond that wait for a permit up to a timeout; once too
+ * many are waiting further requests are rejected instead of piling up. A hash that has started always
+ * runs to completion, BCrypt cannot be interrupted.
+ * Hashes made with a different cost are reported for upgrade, which Spring Security does on the next login.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    // Cost never chosen below this when calibrating, whatever the hardware
+    private static final int MIN_CALIBRATED_STRENGTH = 10;
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final int concurrency;
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final long timeoutMillis;
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public BoundedPasswordEncoder(@Value("${news.security.bcrypt.strength:10}") String strength,
+                                  @Value("${news.security.bcrypt.target-time:PT0.25S}") Duration targetTime,
+                                  @Value("${news.security.hashing.concurrency:0}") int concurrency,
+                                  @Value("${news.security.hashing.max-waiting:64}") int maxWaiting,
+                                  @Value("${news.security.hashing.timeout:PT10S}") Duration timeout) {
+        this.strength = "auto".equalsIgnoreCase(strength) ? calibrate(targetTime) : Integer.parseInt(strength);
+        this.delegate = new BCryptPasswordEncoder(this.strength);
+        // By default half the cores: hashing is pure CPU and must not take the whole machine
+        this.concurrency = concurrency > 0 ? concurrency : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Fair, so the longest waiting login gets the next permit
+        this.permits = new Semaphore(this.concurrency, true);
+        this.maxWaiting = maxWaiting;
+        this.timeoutMillis = timeout.toMillis();
+        logger.info("Password hashing with BCrypt cost {}, {} at a time", this.strength, this.concurrency);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return limited(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return limited(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Reports hashes whose cost differs from the configured one, in either direction,
+     * so lowering the cost to regain capacity is applied on login as well.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    /**
+     * Returns the BCrypt cost used for new hashes.
+     *
+     * @return The log2 number of rounds.
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Returns the number of hashing operations waiting for a permit.
+     *
+     * @return The number of waiting callers.
+     */
+    public int waitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * Returns the number of hashing operations running.
+     *
+     * @return The number of permits in use.
+     */
+    public int activeCount() {
+        return concurrency - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of hashing operations turned away, because too many were waiting or the wait timed out.
+     *
+     * @return The number of rejected operations since startup.
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private <T> T limited(Supplier<T> task) {
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new AuthenticationServiceException("Too many password operations in progress, please try again later");
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Password operation interrupted", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new AuthenticationServiceException("Password operation timed out, please try again later");
+        }
+        try {
+            return task.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Highest cost whose hash still fits the target time on this machine
+    private static int calibrate(Duration targetTime) {
+        int cost = MIN_CALIBRATED_STRENGTH;
+        while (cost < 31 && timeHash(cost + 1) <= targetTime.toNanos()) {
+            cost++;
+        }
+        return cost;
+    }
+
+    private static long timeHash(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        return System.nanoTime() - start;
+    }
+}
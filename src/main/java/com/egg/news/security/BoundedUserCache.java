@@ -0,0 +1,103 @@
+package com.egg.news.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small LRU cache of recently authenticated principals, with a time to live.
+ * A cached principal whose password no longer matches is reloaded by Spring Security,
+ * so a stale entry costs one extra query, never a wrong answer.
+ * Entries are copied on the way in and out, because the provider erases the credentials
+ * of the instance it returns after authenticating.
+ */
+@Component
+public class BoundedUserCache implements UserCache {
+
+    private record Entry(UserDetails user, long expiresAt) {
+    }
+
+    private final Map<String, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long ttlNanos;
+
+    @Autowired
+    public BoundedUserCache(@Value("${news.security.user-cache.max-size:1000}") int maxSize,
+                            @Value("${news.security.user-cache.ttl:PT5M}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(username);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() > 0) {
+                entries.remove(username);
+                return null;
+            }
+            return copy(entry.user());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        Entry entry = new Entry(copy(user), System.nanoTime() + ttlNanos);
+        lock.lock();
+        try {
+            entries.put(user.getUsername(), entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        lock.lock();
+        try {
+            entries.remove(username);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of cached principals.
+     *
+     * @return The number of entries, expired ones included until they are looked up.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static UserDetails copy(UserDetails user) {
+        if (user instanceof AccountDetails details) {
+            return details.withPassword(details.getPassword());
+        }
+        return User.withUserDetails(user).build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.egg.news.security;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.SavedRequestAwareAuthenticationSuccessHandler;
+
+import java.io.IOException;
+
+/**
+ * Stores the {@link SessionUser} in the session once the password has been verified,
+ * then redirects like the default form login.
+ */
+public class LoginSuccessHandler extends SavedRequestAwareAuthenticationSuccessHandler {
+
+    public LoginSuccessHandler(String defaultTargetUrl) {
+        setDefaultTargetUrl(defaultTargetUrl);
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws ServletException, IOException {
+        if (authentication.getPrincipal() instanceof AccountDetails details) {
+            request.getSession().setAttribute(SessionUser.ATTRIBUTE, details.getSessionUser());
+        }
+        super.onAuthenticationSuccess(request, response, authentication);
+    }
+}
@@ -0,0 +1,95 @@
+package com.egg.news.security;
+
+import com.egg.news.enums.Role;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Immutable summary of the logged user kept in the HTTP session under {@link #ATTRIBUTE}.
+ * It holds only what pages need, never the entity or its image, so sessions stay small
+ * and can be stored outside the JVM.
+ *
+ * @param id      The ID of the user.
+ * @param name    The display name of the user.
+ * @param role    The role of the user.
+ * @param imageId The ID of the profile image, or null if the user has none.
+ */
+public record SessionUser(String id, String name, Role role, String imageId) implements Serializable {
+
+    /**
+     * Name of the session attribute holding the logged user.
+     */
+    public static final String ATTRIBUTE = "usersession";
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    public boolean hasImage() {
+        return imageId != null;
+    }
+
+    // Serialized through a proxy writing four plain strings, without class descriptors for the record or the enum
+    @Serial
+    private Object writeReplace() {
+        return new Compact(this);
+    }
+
+    /**
+     * Compact serialized form of a session user.
+     */
+    static final class Compact implements Externalizable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private SessionUser user;
+
+        public Compact() {
+            // Required by Externalizable
+        }
+
+        Compact(SessionUser user) {
+            this.user = user;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            writeNullable(out, user.id());
+            writeNullable(out, user.name());
+            writeNullable(out, user.role() != null ? user.role().name() : null);
+            writeNullable(out, user.imageId());
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            String id = readNullable(in);
+            String name = readNullable(in);
+            String role = readNullable(in);
+            String imageId = readNullable(in);
+            user = new SessionUser(id, name, role != null ? Role.valueOf(role) : null, imageId);
+        }
+
+        @Serial
+        private Object readResolve() throws ObjectStreamException {
+            return user;
+        }
+
+        private static void writeNullable(ObjectOutput out, String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+
+        private static String readNullable(ObjectInput in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+    }
+}
@@ -1,28 +1,55 @@
 package com.egg.news.services;
 
+import com.egg.news.cache.DataVersion;
+import com.egg.news.datasource.ReplicaRoutingDataSource;
+import com.egg.news.dto.AuthorView;
+import com.egg.news.dto.CacheStats;
 import com.egg.news.entities.Author;
 import com.egg.news.exceptions.UserInputException;
+import com.egg.news.feeds.NewsFeeds;
 import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.utils.TransactionUtils;
 import com.egg.news.utils.ValidationUtils;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service class for managing Author entities.
  * Handles business logic related to authors and interacts with the AuthorRepository.
  */
 @Service
+@Timed(value = "news.service", description = "Service method calls")
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final DataVersion dataVersion;
+    private final NewsFeeds newsFeeds;
+
+    // Author catalogue cache: an immutable snapshot tagged with the data version it was loaded at
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Catalogue> catalogue = new AtomicReference<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Immutable snapshot of every author, valid while the data version has not moved.
+     */
+    private record Catalogue(long version, List<AuthorView> authors) {
+    }
 
     @Autowired
-    public AuthorService(AuthorRepository authorRepository) {
+    public AuthorService(AuthorRepository authorRepository, DataVersion dataVersion, NewsFeeds newsFeeds) {
         this.authorRepository = authorRepository;
+        this.dataVersion = dataVersion;
+        this.newsFeeds = newsFeeds;
     }
 
     /**
@@ -38,15 +65,47 @@ public class AuthorService {
         Author author = new Author();
         author.setName(name);
         authorRepository.save(author);
+        TransactionUtils.afterCommit(this::invalidateCatalogue);
+    }
+
+    /**
+     * Retrieves a list of all authors, ordered by name.
+     * Served from the in-memory catalogue without locking; the database is only read
+     * after a write has invalidated the current snapshot.
+     *
+     * @return Unmodifiable list of views of all authors.
+     */
+    public List<AuthorView> listAuthors() {
+        long currentVersion = version.get();
+        Catalogue current = catalogue.get();
+        if (current != null && current.version() == currentVersion) {
+            hits.increment();
+            return current.authors();
+        }
+
+        misses.increment();
+        // Loaded right after a write, from the primary so the snapshot cannot miss it
+        Catalogue loaded = new Catalogue(currentVersion,
+                ReplicaRoutingDataSource.onPrimary(() -> List.copyOf(authorRepository.findAllViews())));
+        // A snapshot loaded across an invalidation keeps its older version, so it is never served
+        catalogue.accumulateAndGet(loaded, (existing, candidate) ->
+                existing == null || existing.version() < candidate.version() ? candidate : existing);
+        return loaded.authors();
     }
 
     /**
-     * Retrieves a list of all authors.
+     * Retrieves the counters of the author catalogue cache.
      *
-     * @return List of all authors.
+     * @return The hits, misses and data version of the catalogue.
      */
-    public List<Author> listAuthors() {
-        return authorRepository.findAll();
+    public CacheStats catalogueStats() {
+        return new CacheStats(hits.sum(), misses.sum(), version.get());
+    }
+
+    // Moves the data versions forward, so the current snapshot and every page showing author names are reloaded
+    private void invalidateCatalogue() {
+        version.incrementAndGet();
+        dataVersion.bump();
     }
 
     /**
@@ -66,6 +125,10 @@ public class AuthorService {
 
             author.setName(name);
             authorRepository.save(author);
+            TransactionUtils.afterCommit(() -> {
+                newsFeeds.onAuthorRenamed(id);
+                invalidateCatalogue();
+            });
         } catch (UserInputException e) {
             e.handle();
         }
@@ -75,21 +138,24 @@ public class AuthorService {
      * Retrieves the author with the provided ID.
      *
      * @param id The ID of the author to be retrieved.
-     * @return The author entity.
+     * @return The view of the author.
+     * @throws UserInputException If the author ID is not found.
      */
-    public Author getOne(String id) {
-        return authorRepository.getReferenceById(id);
+    @Transactional(readOnly = true)
+    public AuthorView getOne(String id) throws UserInputException {
+        return authorRepository.findById(id).map(AuthorView::of).orElseThrow(() -> new UserInputException("Author ID not found"));
     }
 
     /**
      * Searches for authors by name.
      *
      * @param name The name to search for (case-insensitive).
-     * @return List of authors matching the provided name.
+     * @return List of views of authors matching the provided name.
      */
-    public List<Author> searchAuthor(String name) {
+    @Transactional(readOnly = true)
+    public List<AuthorView> searchAuthor(String name) {
         if (!ValidationUtils.isInvalidInput(name)) {
-            return authorRepository.searchByName(name);
+            return authorRepository.searchViewsByName(name);
         }
 
         return listAuthors();
@@ -1,55 +1,95 @@
 package com.egg.news.services;
 
-import com.egg.news.entities.Author;
+import com.egg.news.dto.ImageMetadata;
 import com.egg.news.entities.Image;
+import com.egg.news.enums.ImageStorageType;
+import com.egg.news.events.ImageUploadedEvent;
 import com.egg.news.exceptions.UserInputException;
-import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.repositories.ImageContentReader;
 import com.egg.news.repositories.ImageRepository;
+import com.egg.news.storage.ImageStorage;
+import com.egg.news.storage.StagedContent;
+import com.egg.news.utils.HashUtils;
+import com.egg.news.utils.ImageTypeUtils;
 import com.egg.news.utils.ValidationUtils;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Service class for managing Author entities.
- * Handles business logic related to authors and interacts with the AuthorRepository.
+ * Service class for managing Image entities.
+ * Handles business logic related to images and interacts with the ImageRepository.
  */
 @Service
+@Timed(value = "news.service", description = "Service method calls")
 public class ImageService {
 
+    private static final int BUFFER_SIZE = 8192;
+
     private final ImageRepository imageRepository;
+    private final ImageContentReader imageContentReader;
+    private final Map<ImageStorageType, ImageStorage> storages = new EnumMap<>(ImageStorageType.class);
+    private final ImageStorage writeStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long maxSize;
 
     @Autowired
-    public ImageService(ImageRepository imageRepository) {
+    public ImageService(ImageRepository imageRepository, ImageContentReader imageContentReader, List<ImageStorage> storages,
+                        @Value("${news.image.storage:FILESYSTEM}") ImageStorageType writeStorageType,
+                        @Value("${news.image.max-size:${spring.servlet.multipart.max-file-size:1MB}}") DataSize maxSize,
+                        ApplicationEventPublisher eventPublisher) {
         this.imageRepository = imageRepository;
+        this.imageContentReader = imageContentReader;
+        this.eventPublisher = eventPublisher;
+        this.maxSize = maxSize.toBytes();
+        storages.forEach(storage -> this.storages.put(storage.type(), storage));
+        this.writeStorage = this.storages.get(writeStorageType);
     }
 
     /**
      * Save a new image with the provided name.
      *
      * @param file The MultipartFile of the Image.
+     * @return The saved image, or null if no file was uploaded.
      * @throws UserInputException If input validation fails.
      */
     public Image saveImage(MultipartFile file) throws UserInputException {
         ValidationUtils.validateImage(file);
-        try {
+        // The profile photo is optional
+        if (file.isEmpty()) {
+            return null;
+        }
+        try (StagedContent content = stage(file)) {
             Image image = new Image();
 
-            image.setMime(file.getContentType());
-
             image.setName(file.getName());
 
-            image.setContent(file.getBytes());
+            store(image, content);
 
-            System.out.println(image.toString());
-
-            return imageRepository.save(image);
+            Image saved = imageRepository.save(image);
+            eventPublisher.publishEvent(new ImageUploadedEvent(saved.getId()));
+            return saved;
 
+        } catch (UserInputException e) {
+            throw e;
         } catch (Exception e) {
             throw new UserInputException("The input file is not valid");
         }
@@ -58,29 +98,173 @@ public class ImageService {
     /**
      * Updates the image with the provided ID.
      *
-     * @param idImage The ID of the image to be updated.
+     * @param idImage The ID of the image to be updated, or null to save a new one.
      * @param file    The new file for the image.
+     * @return The updated image; the current one if no file was uploaded.
      * @throws UserInputException If input validation fails or the image ID is not found.
      */
     public Image updateImage(MultipartFile file, String idImage) throws UserInputException {
         ValidationUtils.validateImage(file);
-        try {
-
-            Optional<Image> optionalImage = imageRepository.findById(idImage);
-            Image image = optionalImage.orElseThrow(() -> new UserInputException("Image ID not found"));
-
-            image.setMime(file.getContentType());
+        if (idImage == null) {
+            return saveImage(file);
+        }
+        Image image = imageRepository.findById(idImage).orElseThrow(() -> new UserInputException("Image ID not found"));
+        if (file.isEmpty()) {
+            return image;
+        }
+        try (StagedContent content = stage(file)) {
 
             image.setName(file.getName());
 
-            image.setContent(file.getBytes());
+            store(image, content);
 
-            return imageRepository.save(image);
+            imageRepository.deleteVariants(image.getId());
+            Image saved = imageRepository.save(image);
+            eventPublisher.publishEvent(new ImageUploadedEvent(saved.getId()));
+            return saved;
 
+        } catch (UserInputException e) {
+            throw e;
         } catch (Exception e) {
             throw new UserInputException("The input file is not valid");
         }
     }
 
+    /*
+    Reads the upload once, in fixed-size chunks, into a temporary file next to the store.
+    The hash, the size and the real format are worked out on the way, so the content is never
+    held on the heap as a whole and oversized or non-image uploads are rejected as soon as they show.
+    */
+    private StagedContent stage(MultipartFile file) throws IOException {
+        // The declared size is known before reading anything
+        if (file.getSize() > maxSize) {
+            throw new UserInputException("The input file exceeds " + maxSize + " bytes");
+        }
+        Path temporary = writeStorage.createTempFile();
+        try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(temporary)) {
+            MessageDigest digest = HashUtils.sha256();
+            byte[] buffer = new byte[BUFFER_SIZE];
+
+            int read = in.readNBytes(buffer, 0, ImageTypeUtils.HEADER_LENGTH);
+            String mime = ImageTypeUtils.detect(buffer, read);
+            if (mime == null) {
+                throw new UserInputException("The input file is not a supported image");
+            }
+
+            long size = 0;
+            for (; read > 0; read = in.read(buffer)) {
+                size += read;
+                if (size > maxSize) {
+                    throw new UserInputException("The input file exceeds " + maxSize + " bytes");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+            return new StagedContent(temporary, HashUtils.toHex(digest.digest()), size, mime);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    private void store(Image image, StagedContent content) throws IOException {
+        image.setMime(content.mime());
+        image.setHash(content.hash());
+        image.setSize(content.size());
+        image.setStorage(writeStorage.type());
+        writeStorage.store(image, content.file());
+    }
+
+    /**
+     * Stores a resized variant of an original image through the configured backend.
+     * The variant is dropped when the original was replaced since the variant was made from it: the job
+     * started by the replacement makes its own.
+     *
+     * @param idOriginal The ID of the original image.
+     * @param sourceHash The hex-encoded SHA-256 of the original content the variant was made from.
+     * @param dimension  The bounding box in pixels of the variant.
+     * @param mime       The MIME type of the variant.
+     * @param content    The encoded content of the variant.
+     * @return true if the variant was stored, false if the original changed meanwhile.
+     * @throws IOException If the content cannot be written.
+     */
+    @Transactional
+    public boolean saveVariant(String idOriginal, String sourceHash, int dimension, String mime, byte[] content) throws IOException {
+        if (!sourceHash.equals(imageRepository.findHashById(idOriginal).orElse(null))) {
+            return false;
+        }
+        // A variant of the previous content may have been saved after the replacement deleted the others
+        imageRepository.deleteVariant(idOriginal, dimension);
+        Image variant = new Image();
+        variant.setOriginal(imageRepository.getReferenceById(idOriginal));
+        variant.setDimension(dimension);
+        variant.setSourceHash(sourceHash);
+        variant.setMime(mime);
+        variant.setName(dimension + "px");
+        variant.setHash(HashUtils.sha256Hex(content));
+        variant.setSize((long) content.length);
+        variant.setStorage(writeStorage.type());
+        writeStorage.store(variant, content);
+        imageRepository.save(variant);
+        return true;
+    }
+
+    /**
+     * Retrieves the metadata of the profile image of a user.
+     * Images uploaded before checksums were recorded are always in the database,
+     * and get theirs computed once, from chunked reads.
+     *
+     * @param idUser    The ID of the user.
+     * @param dimension The bounding box in pixels the client will display, or null for the original.
+     * @return The metadata of the smallest variant covering the dimension, falling back to the original
+     * while variants are being generated; empty if the user has no image.
+     */
+    public Optional<ImageMetadata> getProfileImage(String idUser, Integer dimension) {
+        Optional<ImageMetadata> original = imageRepository.findProfileMetadata(idUser).map(this::ensureChecksum);
+        if (dimension == null || original.isEmpty()) {
+            return original;
+        }
+        return imageRepository.findVariants(original.get().id(), dimension, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .or(() -> original);
+    }
+
+    /**
+     * Copies a range of the content of an image to the provided stream, from whichever backend holds it.
+     *
+     * @param image  The metadata of the image.
+     * @param offset The zero-based offset of the first byte to copy.
+     * @param length The number of bytes to copy.
+     * @param out    The stream to write to.
+     * @throws IOException If reading the content or writing to the stream fails.
+     */
+    public void copyContent(ImageMetadata image, long offset, long length, OutputStream out) throws IOException {
+        storages.get(image.storageType()).copy(image, offset, length, out);
+    }
+
+    /**
+     * Returns the local file holding the content of an image, if its backend keeps one.
+     *
+     * @param image The metadata of the image.
+     * @return The file holding the content, or empty if it must be copied through the application.
+     */
+    public Optional<Path> localFile(ImageMetadata image) {
+        return storages.get(image.storageType()).localFile(image);
+    }
 
+    private ImageMetadata ensureChecksum(ImageMetadata image) {
+        if (image.hash() != null && image.size() != null) {
+            return image;
+        }
+        long size = imageContentReader.length(image.id());
+        MessageDigest digest = HashUtils.sha256();
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            copyContent(image, 0, size, out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to hash image " + image.id(), e);
+        }
+        String hash = HashUtils.toHex(digest.digest());
+        imageRepository.updateChecksum(image.id(), hash, size);
+        return new ImageMetadata(image.id(), image.mime(), hash, size, image.storage());
+    }
 }
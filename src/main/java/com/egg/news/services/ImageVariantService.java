@@ -0,0 +1,188 @@
+package com.egg.news.services;
+
+import com.egg.news.dto.ImageMetadata;
+import com.egg.news.events.ImageUploadedEvent;
+import com.egg.news.repositories.ImageRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class generating resized variants of uploaded images.
+ * Variants are produced on a small bounded pool once the upload has committed, so requests never wait
+ * for decoding and scaling; until they exist, the original is served in their place.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final ImageService imageService;
+    private final ImageRepository imageRepository;
+    private final ThreadPoolExecutor executor;
+    private final int[] dimensions;
+    private final long maxPixels;
+
+    @Autowired
+    public ImageVariantService(ImageService imageService, ImageRepository imageRepository,
+                               @Value("${news.image.variants.sizes:48,128,512}") int[] dimensions,
+                               @Value("${news.image.variants.threads:2}") int threads,
+                               @Value("${news.image.variants.queue-capacity:100}") int queueCapacity,
+                               @Value("${news.image.variants.max-pixels:40000000}") long maxPixels) {
+        this.imageService = imageService;
+        this.imageRepository = imageRepository;
+        this.dimensions = Arrays.stream(dimensions).sorted().distinct().toArray();
+        this.maxPixels = maxPixels;
+        // Bounded on both threads and backlog: a burst of uploads must not exhaust memory with decoded images
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("image-variant-"));
+    }
+
+    /**
+     * Schedules the generation of the variants of an image once its upload has committed.
+     * When the queue is full the image is skipped and keeps being served at its original size.
+     *
+     * @param event The upload event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImageUploaded(ImageUploadedEvent event) {
+        try {
+            executor.execute(() -> generateVariants(event.idImage()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Image variant queue full, skipping image {}", event.idImage());
+        }
+    }
+
+    /**
+     * Returns the number of images waiting for their variants.
+     *
+     * @return The length of the queue.
+     */
+    public int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of images whose variants are being generated.
+     *
+     * @return The number of busy threads.
+     */
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generateVariants(String idImage) {
+        try {
+            ImageMetadata original = imageRepository.findMetadataById(idImage).orElse(null);
+            if (original == null || original.size() == null || original.hash() == null) {
+                return;
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream(Math.toIntExact(original.size()));
+            imageService.copyContent(original, 0, original.size(), content);
+
+            BufferedImage source = decode(content.toByteArray());
+            if (source == null) {
+                return;
+            }
+            boolean alpha = source.getColorModel().hasAlpha();
+            String format = alpha ? "png" : "jpeg";
+
+            for (int dimension : dimensions) {
+                // Never upscale: larger sizes fall back to the original
+                if (Math.max(source.getWidth(), source.getHeight()) <= dimension) {
+                    break;
+                }
+                if (imageRepository.existsVariant(idImage, original.hash(), dimension)) {
+                    continue;
+                }
+                byte[] encoded = encode(resize(source, dimension, alpha), format);
+                if (!imageService.saveVariant(idImage, original.hash(), dimension, "image/" + format, encoded)) {
+                    logger.debug("Image {} was replaced while its variants were generated", idImage);
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            // The original keeps being served; a later upload retries
+            logger.warn("Unable to generate variants of image {}", idImage, e);
+        }
+    }
+
+    // Reads the dimensions from the header first, so oversized images are rejected before allocating pixels
+    private BufferedImage decode(byte[] content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /*
+    Scales to fit the bounding box, halving the size on each bilinear step:
+    a single bilinear pass over a large reduction skips most source pixels and aliases.
+    */
+    private static BufferedImage resize(BufferedImage source, int dimension, boolean alpha) {
+        double scale = Math.min((double) dimension / source.getWidth(), (double) dimension / source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No writer for " + format);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,213 @@
+package com.egg.news.services;
+
+import com.egg.news.dto.AuthorView;
+import com.egg.news.dto.NewsCursor;
+import com.egg.news.enums.NewsField;
+import com.egg.news.exceptions.UserInputException;
+import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.repositories.NewsFieldQueries;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Service class behind the JSON read API over news and authors.
+ * Pages are positioned by keyset cursors and only the columns of the requested fields are read.
+ * Rows are written to the output with a streaming generator as they come from the database, so no page
+ * is assembled in memory, neither as entities nor as a JSON tree.
+ * Documents have the shape {@code {"data": ..., "next": token}}, {@code next} being null on the last page.
+ */
+@Service
+@Timed(value = "news.service", description = "Service method calls")
+public class NewsApiService {
+
+    private final NewsFieldQueries newsFieldQueries;
+    private final AuthorRepository authorRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxLimit;
+
+    @Autowired
+    public NewsApiService(NewsFieldQueries newsFieldQueries, AuthorRepository authorRepository, ObjectMapper objectMapper,
+                          @Value("${news.api.max-limit:100}") int maxLimit) {
+        this.newsFieldQueries = newsFieldQueries;
+        this.authorRepository = authorRepository;
+        this.objectMapper = objectMapper;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Writes one page of visible news, newest first.
+     *
+     * @param fields   The fields to write for each news article.
+     * @param idAuthor The ID of the author to filter by, or null for every author.
+     * @param after    Token of the page to move forward from, or null for the first page.
+     * @param limit    The maximum number of news on the page.
+     * @param out      The stream to write to; flushed but not closed.
+     * @throws UserInputException If the token or the limit is not valid; nothing has been written then.
+     * @throws IOException        If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void writeNewsPage(Set<NewsField> fields, String idAuthor, String after, int limit, OutputStream out)
+            throws IOException {
+        validateLimit(limit);
+        NewsCursor cursor = NewsCursor.START;
+        if (after != null && !after.isEmpty()) {
+            cursor = NewsCursor.decode(after);
+            if (cursor == null) {
+                throw new UserInputException("Invalid page token");
+            }
+        }
+
+        JsonGenerator generator = createGenerator(out);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("data");
+        String next = null;
+        // One extra row tells whether there is a next page
+        try (Stream<Tuple> rows = newsFieldQueries.streamAfter(fields, idAuthor, cursor, limit + 1)) {
+            Iterator<Tuple> iterator = rows.iterator();
+            for (int written = 0; written < limit && iterator.hasNext(); written++) {
+                Tuple row = iterator.next();
+                writeNews(generator, fields, row);
+                if (written == limit - 1 && iterator.hasNext()) {
+                    next = NewsCursor.encode(row.get(NewsFieldQueries.DATE, Date.class), row.get(NewsFieldQueries.ID, String.class));
+                }
+            }
+        }
+        generator.writeEndArray();
+        generator.writeStringField("next", next);
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Writes a visible news article, if it exists.
+     *
+     * @param fields The fields to write.
+     * @param id     The ID of the news.
+     * @param out    The stream to write to; flushed but not closed.
+     * @return false if the news does not exist or is not visible, in which case nothing has been written.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public boolean writeNews(Set<NewsField> fields, String id, OutputStream out) throws IOException {
+        Optional<Tuple> row = newsFieldQueries.findById(fields, id);
+        if (row.isEmpty()) {
+            return false;
+        }
+        JsonGenerator generator = createGenerator(out);
+        generator.writeStartObject();
+        generator.writeFieldName("data");
+        writeNews(generator, fields, row.get());
+        generator.writeEndObject();
+        generator.flush();
+        return true;
+    }
+
+    /**
+     * Writes one page of authors, in creation order.
+     *
+     * @param after Token of the page to move forward from, or null for the first page.
+     * @param limit The maximum number of authors on the page.
+     * @param out   The stream to write to; flushed but not closed.
+     * @throws UserInputException If the limit is not valid; nothing has been written then.
+     * @throws IOException        If writing to the stream fails.
+     */
+    public void writeAuthorPage(String after, int limit, OutputStream out) throws IOException {
+        validateLimit(limit);
+        // Author tokens are the last ID of the previous page
+        List<AuthorView> rows = authorRepository.findViewsAfter(after != null ? after : "", PageRequest.of(0, limit + 1));
+
+        JsonGenerator generator = createGenerator(out);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("data");
+        int count = Math.min(limit, rows.size());
+        for (int i = 0; i < count; i++) {
+            writeAuthor(generator, rows.get(i));
+        }
+        generator.writeEndArray();
+        generator.writeStringField("next", rows.size() > limit ? rows.get(limit - 1).id() : null);
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Writes an author, if it exists.
+     *
+     * @param id  The ID of the author.
+     * @param out The stream to write to; flushed but not closed.
+     * @return false if the author does not exist, in which case nothing has been written.
+     * @throws IOException If writing to the stream fails.
+     */
+    public boolean writeAuthor(String id, OutputStream out) throws IOException {
+        Optional<AuthorView> author = authorRepository.findViewById(id);
+        if (author.isEmpty()) {
+            return false;
+        }
+        JsonGenerator generator = createGenerator(out);
+        generator.writeStartObject();
+        generator.writeFieldName("data");
+        writeAuthor(generator, author.get());
+        generator.writeEndObject();
+        generator.flush();
+        return true;
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new UserInputException("The limit must be between 1 and " + maxLimit);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    // Fields are written in declaration order, whatever the order they were requested in
+    private static void writeNews(JsonGenerator generator, Set<NewsField> fields, Tuple row) throws IOException {
+        generator.writeStartObject();
+        for (NewsField field : fields) {
+            switch (field) {
+                case ID -> generator.writeStringField("id", row.get(NewsFieldQueries.ID, String.class));
+                case TITLE -> generator.writeStringField("title", row.get(NewsFieldQueries.alias(field, 0), String.class));
+                case EXCERPT -> generator.writeStringField("excerpt", row.get(NewsFieldQueries.alias(field, 0), String.class));
+                case BODY -> generator.writeStringField("body", row.get(NewsFieldQueries.alias(field, 0), String.class));
+                case DATE -> {
+                    Date date = row.get(NewsFieldQueries.DATE, Date.class);
+                    generator.writeStringField("date", date != null ? date.toInstant().toString() : null);
+                }
+                case AUTHOR -> {
+                    generator.writeObjectFieldStart("author");
+                    generator.writeStringField("id", row.get(NewsFieldQueries.alias(field, 0), String.class));
+                    generator.writeStringField("name", row.get(NewsFieldQueries.alias(field, 1), String.class));
+                    generator.writeEndObject();
+                }
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeAuthor(JsonGenerator generator, AuthorView author) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", author.id());
+        generator.writeStringField("name", author.name());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,129 @@
+package com.egg.news.services;
+
+import com.egg.news.dto.NewsView;
+import com.egg.news.enums.ExportFormat;
+import com.egg.news.repositories.NewsExportReader;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class exporting every visible news article with its author.
+ * Rows go from a database cursor straight to the output, one at a time, so memory use does not depend
+ * on the size of the corpus. The columns match what NewsImportService reads.
+ */
+@Service
+@Timed(value = "news.service", description = "Service method calls")
+public class NewsExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsExportService.class);
+
+    private static final String[] CSV_HEADER = {"id", "title", "body", "date", "authorId", "authorName"};
+
+    private final NewsExportReader newsExportReader;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public NewsExportService(NewsExportReader newsExportReader, ObjectMapper objectMapper) {
+        this.newsExportReader = newsExportReader;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every visible news article to the stream, newest first.
+     * A database connection is held until the last row is written.
+     *
+     * @param format The format to write.
+     * @param out    The stream to write to; flushed but not closed.
+     * @return The number of exported news.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        long count;
+        try (Stream<NewsView> news = newsExportReader.streamViews()) {
+            count = format == ExportFormat.CSV ? writeCsv(news.iterator(), out) : writeNdjson(news.iterator(), out);
+        }
+        logger.info("Exported {} news as {}", count, format);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<NewsView> news, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Objects separated by new lines instead of spaces
+        generator.setRootValueSeparator(null);
+        while (news.hasNext()) {
+            NewsView view = news.next();
+            generator.writeStartObject();
+            generator.writeStringField("id", view.id());
+            generator.writeStringField("title", view.title());
+            generator.writeStringField("body", view.body());
+            generator.writeStringField("date", view.date() != null ? view.date().toInstant().toString() : null);
+            generator.writeStringField("authorId", view.authorId());
+            generator.writeStringField("authorName", view.authorName());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(Iterator<NewsView> news, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRecord(writer, CSV_HEADER);
+        while (news.hasNext()) {
+            NewsView view = news.next();
+            writeCsvRecord(writer, view.id(), view.title(), view.body(),
+                    view.date() != null ? view.date().toInstant().toString() : null, view.authorId(), view.authorName());
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // RFC 4180: fields with separators, quotes or line breaks are quoted, and quotes doubled
+    private static void writeCsvRecord(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+                writer.write(field);
+                continue;
+            }
+            writer.write('"');
+            for (int j = 0; j < field.length(); j++) {
+                char c = field.charAt(j);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,267 @@
+package com.egg.news.services;
+
+import com.egg.news.cache.DataVersion;
+import com.egg.news.dto.AuthorView;
+import com.egg.news.dto.ImportReport;
+import com.egg.news.dto.NewsView;
+import com.egg.news.feeds.NewsFeeds;
+import com.egg.news.ids.UuidV7;
+import com.egg.news.imports.ImportRow;
+import com.egg.news.imports.NewsRowReader;
+import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.repositories.NewsBatchWriter;
+import com.egg.news.search.NewsSearchIndex;
+import com.egg.news.utils.ValidationUtils;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class importing news in bulk from a streamed upload.
+ * Rows are grouped in batches: the authors of a batch are resolved with one query per kind of reference,
+ * remembered for later batches, and the batch is inserted as one JDBC batch in its own transaction.
+ * Invalid rows are reported and skipped without failing the rest of their batch.
+ */
+@Service
+@Timed(value = "news.service", description = "Service method calls")
+public class NewsImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsImportService.class);
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Bound on the authors remembered across batches
+    private static final int MAX_CACHED_AUTHORS = 10_000;
+
+    private final NewsBatchWriter newsBatchWriter;
+    private final AuthorRepository authorRepository;
+    private final NewsSearchIndex searchIndex;
+    private final DataVersion dataVersion;
+    private final NewsFeeds newsFeeds;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public NewsImportService(NewsBatchWriter newsBatchWriter, AuthorRepository authorRepository, NewsSearchIndex searchIndex,
+                             DataVersion dataVersion, NewsFeeds newsFeeds, PlatformTransactionManager transactionManager,
+                             @Value("${news.import.batch-size:1000}") int batchSize) {
+        this.newsBatchWriter = newsBatchWriter;
+        this.authorRepository = authorRepository;
+        this.searchIndex = searchIndex;
+        this.dataVersion = dataVersion;
+        this.newsFeeds = newsFeeds;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * State of one import: the authors resolved so far and the outcome.
+     */
+    private static final class Import {
+        final Map<String, AuthorView> authorsById = new HashMap<>();
+        final Map<String, List<AuthorView>> authorsByName = new HashMap<>();
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+        long imported;
+        long failed;
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        ImportReport report() {
+            // Read errors are found before batch errors, so lines arrive out of order
+            errors.sort(Comparator.comparingLong(ImportReport.RowError::line));
+            return new ImportReport(imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+
+    /**
+     * Imports every row of an upload. Batches already inserted stay inserted if a later one fails.
+     *
+     * @param reader The reader of the upload.
+     * @return The number of imported and rejected rows, with the reasons of the first rejections.
+     * @throws IOException If the upload cannot be read.
+     */
+    public ImportReport importNews(NewsRowReader reader) throws IOException {
+        Import state = new Import();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+            if (row.error() != null) {
+                state.reject(row.line(), row.error());
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                importBatch(batch, state);
+                batch.clear();
+            }
+        }
+        importBatch(batch, state);
+        logger.info("Imported {} news, rejected {}", state.imported, state.failed);
+        return state.report();
+    }
+
+    private void importBatch(List<ImportRow> batch, Import state) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        resolveAuthors(batch, state);
+
+        Date now = new Date();
+        List<NewsBatchWriter.Row> rows = new ArrayList<>(batch.size());
+        List<NewsView> views = new ArrayList<>(batch.size());
+        List<Long> lines = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            String error = validate(row);
+            AuthorView author = error == null ? author(row, state) : null;
+            if (error == null && author == null) {
+                error = row.authorId() != null ? "Author ID not found" : authorNameError(row, state);
+            }
+            Date date = null;
+            if (error == null) {
+                try {
+                    date = row.date() == null ? now : parseDate(row.date());
+                } catch (DateTimeParseException e) {
+                    error = "Invalid date, expected ISO-8601: " + row.date();
+                }
+            }
+            if (error != null) {
+                state.reject(row.line(), error);
+                continue;
+            }
+            String id = UuidV7.generate();
+            rows.add(new NewsBatchWriter.Row(id, row.title(), row.body(), date, author.id()));
+            views.add(new NewsView(id, row.title(), row.body(), date, author.id(), author.name()));
+            lines.add(row.line());
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> newsBatchWriter.insert(rows));
+            state.imported += rows.size();
+        } catch (DataAccessException e) {
+            // Retry row by row, so only the rows the database refuses are rejected
+            List<NewsView> inserted = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                NewsBatchWriter.Row row = rows.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> newsBatchWriter.insert(row));
+                    inserted.add(views.get(i));
+                    state.imported++;
+                } catch (DataAccessException rowException) {
+                    state.reject(lines.get(i), "Rejected by the database: " + rowException.getMostSpecificCause().getMessage());
+                }
+            }
+            views = inserted;
+        }
+        searchIndex.addAll(views);
+        newsFeeds.invalidateAll();
+        dataVersion.bump();
+    }
+
+    private static String validate(ImportRow row) {
+        if (ValidationUtils.isInvalidInput(row.title())) {
+            return "The title cannot be empty";
+        }
+        if (row.title().length() > MAX_TITLE_LENGTH) {
+            return "The title exceeds " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (ValidationUtils.isInvalidInput(row.body())) {
+            return "The body cannot be empty";
+        }
+        if (row.authorId() == null && ValidationUtils.isInvalidInput(row.authorName())) {
+            return "The author cannot be empty";
+        }
+        return null;
+    }
+
+    // Looks up, in one query per kind of reference, the authors of the batch not resolved by earlier batches
+    private void resolveAuthors(List<ImportRow> batch, Import state) {
+        if (state.authorsById.size() + state.authorsByName.size() > MAX_CACHED_AUTHORS) {
+            state.authorsById.clear();
+            state.authorsByName.clear();
+        }
+        Set<String> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (ImportRow row : batch) {
+            if (row.authorId() != null && !state.authorsById.containsKey(row.authorId())) {
+                ids.add(row.authorId());
+            } else if (row.authorId() == null && row.authorName() != null && !state.authorsByName.containsKey(row.authorName())) {
+                names.add(row.authorName());
+            }
+        }
+        if (!ids.isEmpty()) {
+            // Unknown IDs are remembered as missing, so they are not looked up again
+            ids.forEach(id -> state.authorsById.put(id, null));
+            authorRepository.findViewsByIds(ids).forEach(author -> state.authorsById.put(author.id(), author));
+        }
+        if (!names.isEmpty()) {
+            names.forEach(name -> state.authorsByName.put(name, new ArrayList<>()));
+            authorRepository.findViewsByNames(names).forEach(author ->
+                    state.authorsByName.computeIfAbsent(author.name(), name -> new ArrayList<>()).add(author));
+        }
+    }
+
+    private static AuthorView author(ImportRow row, Import state) {
+        if (row.authorId() != null) {
+            return state.authorsById.get(row.authorId());
+        }
+        List<AuthorView> authors = state.authorsByName.get(row.authorName());
+        return authors != null && authors.size() == 1 ? authors.get(0) : null;
+    }
+
+    private static String authorNameError(ImportRow row, Import state) {
+        List<AuthorView> authors = state.authorsByName.get(row.authorName());
+        return authors == null || authors.isEmpty()
+                ? "Author name not found"
+                : "Author name is shared by " + authors.size() + " authors, use authorId";
+    }
+
+    // Accepts an instant, a date-time with offset, a local date-time (UTC) or a date
+    private static Date parseDate(String text) {
+        String value = text.trim();
+        try {
+            return Date.from(OffsetDateTime.parse(value).toInstant());
+        } catch (DateTimeParseException e) {
+            // Not an offset date-time
+        }
+        try {
+            return Date.from(Instant.parse(value));
+        } catch (DateTimeParseException e) {
+            // Not an instant
+        }
+        try {
+            return Date.from(LocalDateTime.parse(value).toInstant(ZoneOffset.UTC));
+        } catch (DateTimeParseException e) {
+            return Date.from(LocalDate.parse(value).atStartOfDay().toInstant(ZoneOffset.UTC));
+        }
+    }
+}
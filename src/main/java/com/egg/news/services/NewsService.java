@@ -1,31 +1,99 @@
 package com.egg.news.services;
 
+import com.egg.news.cache.DataVersion;
+import com.egg.news.datasource.ReplicaRoutingDataSource;
+import com.egg.news.dto.CursorPage;
+import com.egg.news.dto.NewsCursor;
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.dto.NewsView;
 import com.egg.news.entities.Author;
 import com.egg.news.entities.News;
+import com.egg.news.feeds.NewsFeeds;
 import com.egg.news.exceptions.UserInputException;
 import com.egg.news.repositories.AuthorRepository;
 import com.egg.news.repositories.NewsRepository;
+import com.egg.news.search.NewsSearchIndex;
+import com.egg.news.utils.TransactionUtils;
 import com.egg.news.utils.ValidationUtils;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing News entities.
  * Handles business logic related to news articles and interacts with the NewsRepository and AuthorRepository.
  */
 @Service
+@Timed(value = "news.service", description = "Service method calls")
 public class NewsService {
 
     private final NewsRepository newsRepository;
     private final AuthorRepository authorRepository;
+    private final NewsSearchIndex searchIndex;
+    private final DataVersion dataVersion;
+    private final NewsFeeds newsFeeds;
+    private final int pageSize;
+    private final int indexBatchSize;
+
+    // Prefix of page tokens for relevance-ranked results, which page by rank offset
+    private static final String RANK_TOKEN = "r";
 
     @Autowired
-    public NewsService(NewsRepository newsRepository, AuthorRepository authorRepository) {
+    public NewsService(NewsRepository newsRepository, AuthorRepository authorRepository,
+                       NewsSearchIndex searchIndex, DataVersion dataVersion, NewsFeeds newsFeeds,
+                       @Value("${news.pagination.page-size:20}") int pageSize,
+                       @Value("${news.search.index-batch-size:1000}") int indexBatchSize) {
         this.newsRepository = newsRepository;
         this.authorRepository = authorRepository;
+        this.searchIndex = searchIndex;
+        this.dataVersion = dataVersion;
+        this.newsFeeds = newsFeeds;
+        this.pageSize = pageSize;
+        this.indexBatchSize = indexBatchSize;
+    }
+
+    /**
+     * Builds the search index once the application is serving requests.
+     * Visible news are read in keyset batches and each batch is tokenized in parallel;
+     * title searches fall back to the database until the build finishes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        NewsCursor cursor = NewsCursor.START;
+        List<NewsView> batch;
+        do {
+            batch = newsRepository.findViewsAfter(cursor.date(), cursor.id(), PageRequest.of(0, indexBatchSize));
+            searchIndex.addAll(batch);
+            if (!batch.isEmpty()) {
+                NewsView last = batch.get(batch.size() - 1);
+                cursor = new NewsCursor(last.date(), last.id());
+            }
+        } while (batch.size() == indexBatchSize);
+        searchIndex.markReady();
+        // Title searches answered from the database until now may rank differently
+        dataVersion.bump();
+    }
+
+    /**
+     * Functional interface for a keyset query bound to its search filters.
+     */
+    @FunctionalInterface
+    private interface KeysetQuery {
+        List<NewsSummary> fetch(Date date, String id, Pageable limit);
     }
 
     /**
@@ -50,36 +118,152 @@ public class NewsService {
         news.setAuthor(author);
 
         newsRepository.save(news);
+        NewsView view = NewsView.of(news);
+        NewsSummary summary = NewsSummary.of(news);
+        TransactionUtils.afterCommit(() -> {
+            searchIndex.index(view);
+            newsFeeds.onSaved(summary);
+            dataVersion.bump();
+        });
     }
 
     /**
-     * Retrieves a list of all news articles.
+     * Retrieves one page of news articles, newest first.
      *
-     * @return List of all news articles.
+     * @param after  Token of the page to move forward from, or null.
+     * @param before Token of the page to move back from, or null.
+     * @return The requested page of news articles.
      */
-    public List<News> listNews() {
-        return newsRepository.getListNews();
+    @Transactional(readOnly = true)
+    public CursorPage<NewsSummary> listNews(String after, String before) {
+        return cachedPage(after, before, newsRepository::getListNewsAfter, newsRepository::getListNewsBefore);
     }
 
     /**
-     * Searches for news articles based on the provided title and/or author ID.
-     * If both title and author ID are provided, it performs an AND search.
+     * Searches one page of news articles based on the provided title and/or author ID.
+     * Title searches are answered by the in-memory index over title and body, ranked by relevance;
+     * author-only searches and searches made before the index is built are paged newest first.
      *
-     * @param title    The title to search for (case-insensitive).
+     * @param title    The text to search for (case-insensitive).
      * @param idAuthor The ID of the author to filter news articles.
-     * @return List of news articles matching the provided criteria.
+     * @param after    Token of the page to move forward from, or null.
+     * @param before   Token of the page to move back from, or null.
+     * @return The requested page of news articles matching the provided criteria.
      */
-    public List<News> searchNews(String title, String idAuthor) {
+    @Transactional(readOnly = true)
+    public CursorPage<NewsSummary> searchNews(String title, String idAuthor, String after, String before) {
+        if (!ValidationUtils.isInvalidInput(title) && searchIndex.isReady()) {
+            String author = ValidationUtils.isInvalidInput(idAuthor) ? null : idAuthor;
+            return rankedPage(title, author, after, before);
+        }
         if (!ValidationUtils.isInvalidInput(title) && !ValidationUtils.isInvalidInput(idAuthor)) {
-            return newsRepository.searchByTitleAndAuthor(title, idAuthor);
+            return page(after, before,
+                    (date, id, limit) -> newsRepository.searchByTitleAndAuthorAfter(title, idAuthor, date, id, limit),
+                    (date, id, limit) -> newsRepository.searchByTitleAndAuthorBefore(title, idAuthor, date, id, limit));
         }
         if (!ValidationUtils.isInvalidInput(title)) {
-            return newsRepository.searchByTitle(title);
+            return page(after, before,
+                    (date, id, limit) -> newsRepository.searchByTitleAfter(title, date, id, limit),
+                    (date, id, limit) -> newsRepository.searchByTitleBefore(title, date, id, limit));
         }
         if (!ValidationUtils.isInvalidInput(idAuthor)) {
-            return newsRepository.searchByAuthor(idAuthor);
+            return cachedPage(after, before,
+                    (date, id, limit) -> newsRepository.searchByAuthorAfter(idAuthor, date, id, limit),
+                    (date, id, limit) -> newsRepository.searchByAuthorBefore(idAuthor, date, id, limit));
         }
-        return listNews();
+        return listNews(after, before);
+    }
+
+    /**
+     * Runs a keyset query around the provided cursor, fetching one extra row to detect further pages.
+     * The cost is the same for every page because the database seeks straight to the cursor.
+     *
+     * @param after    Token of the page to move forward from, or null.
+     * @param before   Token of the page to move back from, or null.
+     * @param forward  Query returning rows older than a position, newest first.
+     * @param backward Query returning rows newer than a position, oldest first.
+     * @return The requested page with its neighbour tokens.
+     */
+    private CursorPage<NewsSummary> page(String after, String before, KeysetQuery forward, KeysetQuery backward) {
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        NewsCursor beforeCursor = NewsCursor.decode(before);
+
+        if (beforeCursor != null) {
+            List<NewsSummary> rows = backward.fetch(beforeCursor.date(), beforeCursor.id(), limit);
+            boolean hasPrevious = rows.size() > pageSize;
+            List<NewsSummary> items = hasPrevious ? rows.subList(0, pageSize) : rows;
+            Collections.reverse(items);
+            return new CursorPage<>(items, cursorOf(items, items.size() - 1), hasPrevious ? cursorOf(items, 0) : null);
+        }
+
+        NewsCursor afterCursor = NewsCursor.decode(after);
+        NewsCursor start = afterCursor != null ? afterCursor : NewsCursor.START;
+        List<NewsSummary> rows = forward.fetch(start.date(), start.id(), limit);
+        boolean hasNext = rows.size() > pageSize;
+        List<NewsSummary> items = hasNext ? rows.subList(0, pageSize) : rows;
+        return new CursorPage<>(items, hasNext ? cursorOf(items, items.size() - 1) : null,
+                afterCursor != null ? cursorOf(items, 0) : null);
+    }
+
+    // Pages of cacheable queries are read from the primary: a result read from a lagging replica
+    // would be served from the query cache until the next write
+    private CursorPage<NewsSummary> cachedPage(String after, String before, KeysetQuery forward, KeysetQuery backward) {
+        return ReplicaRoutingDataSource.onPrimary(() -> page(after, before, forward, backward));
+    }
+
+    /**
+     * Ranks the matches of the search index down to the end of the requested page only,
+     * then loads the rows of that page in a single query.
+     *
+     * @param query    The free-text query.
+     * @param idAuthor The ID of the author to filter by, or null for every author.
+     * @param after    Token of the page to move forward from, or null.
+     * @param before   Token of the page to move back from, or null.
+     * @return The requested page with its neighbour tokens.
+     */
+    private CursorPage<NewsSummary> rankedPage(String query, String idAuthor, String after, String before) {
+        int offset = rankOffset(after);
+        if (rankOffset(before) > 0) {
+            offset = Math.max(0, rankOffset(before) - pageSize);
+        }
+        // Tokens come from the client, so a forged offset must not overflow
+        int limit = (int) Math.min((long) offset + pageSize, Integer.MAX_VALUE);
+        NewsSearchIndex.SearchResult ranked = searchIndex.search(query, idAuthor, limit);
+        offset = Math.min(offset, ranked.ids().size());
+        int end = ranked.ids().size();
+
+        List<String> ids = ranked.ids().subList(offset, end);
+        Map<String, NewsSummary> rows = ReplicaRoutingDataSource.onPrimary(() -> newsRepository.findSummariesByIds(ids)).stream()
+                .collect(Collectors.toMap(NewsSummary::id, Function.identity()));
+        List<NewsSummary> items = ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new CursorPage<>(items,
+                end < ranked.total() ? RANK_TOKEN + end : null,
+                offset > 0 ? RANK_TOKEN + offset : null);
+    }
+
+    // Reads the rank offset out of a ranked page token, 0 if absent or malformed
+    private static int rankOffset(String token) {
+        if (token == null || !token.startsWith(RANK_TOKEN)) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(token.substring(RANK_TOKEN.length())));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Encodes the position of the row at the given index, or null if the page is empty
+    private static String cursorOf(List<NewsSummary> items, int index) {
+        if (items.isEmpty()) {
+            return null;
+        }
+        NewsSummary news = items.get(index);
+        return NewsCursor.encode(news.date(), news.id());
     }
 
     /**
@@ -89,13 +273,15 @@ public class NewsService {
      * @param title    The new title for the news article.
      * @param body     The new body/content for the news article.
      * @param idAuthor The new author ID for the news article.
-     * @throws UserInputException If input validation fails or the news article ID is not found.
+     * @throws UserInputException If input validation fails, the news article ID is not found or the article was deleted.
      */
     @Transactional
     public void setNews(String id, String title, String body, String idAuthor) throws UserInputException {
         ValidationUtils.validateInput(id, title, body, idAuthor);
 
-        News news = newsRepository.findById(id).orElseThrow(() -> new UserInputException("News ID not found"));
+        // A deleted article must not come back into the search index and the feeds through an edit
+        News news = newsRepository.findById(id).filter(News::getStatus)
+                .orElseThrow(() -> new UserInputException("News ID not found"));
         Author author = authorRepository.findById(idAuthor).orElse(news.getAuthor());
 
         news.setTitle(title);
@@ -103,16 +289,32 @@ public class NewsService {
         news.setAuthor(author);
 
         newsRepository.save(news);
+        NewsView view = NewsView.of(news);
+        NewsSummary summary = NewsSummary.of(news);
+        TransactionUtils.afterCommit(() -> {
+            searchIndex.index(view);
+            newsFeeds.onSaved(summary);
+            dataVersion.bump();
+        });
     }
 
     /**
-     * Retrieves a specific news article by its ID.
+     * Retrieves a specific visible news article by its ID, together with its author.
+     * Both are served from the second-level cache once loaded; the lazily loaded body costs one more query.
      *
      * @param id The ID of the news article to be retrieved.
-     * @return The news article entity.
+     * @return The view of the news article.
+     * @throws UserInputException If the news article ID is not found or the article was deleted.
      */
-    public News getOne(String id) {
-        return newsRepository.getReferenceById(id);
+    @Transactional(readOnly = true)
+    public NewsView getOne(String id) throws UserInputException {
+        // Fills the second-level cache: a row read from a lagging replica would be served until the next write
+        return ReplicaRoutingDataSource.onPrimary(() -> {
+            News news = newsRepository.findById(id).filter(News::getStatus)
+                    .orElseThrow(() -> new UserInputException("News ID not found"));
+            // Reading the body loads it, as it is a lazy attribute of the enhanced entity
+            return NewsView.of(news);
+        });
     }
 
     /**
@@ -129,5 +331,10 @@ public class NewsService {
 
         news.setStatus(false);
         newsRepository.save(news);
+        TransactionUtils.afterCommit(() -> {
+            searchIndex.remove(id);
+            newsFeeds.onDeleted(id);
+            dataVersion.bump();
+        });
     }
 }
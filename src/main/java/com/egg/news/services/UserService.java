@@ -1,50 +1,60 @@
 package com.egg.news.services;
 
+import com.egg.news.datasource.ReplicaRoutingDataSource;
+import com.egg.news.dto.UserCredentials;
 import com.egg.news.entities.Image;
 import com.egg.news.entities.User;
 import com.egg.news.enums.Role;
 import com.egg.news.exceptions.UserInputException;
 import com.egg.news.repositories.UserRepository;
+import com.egg.news.security.AccountDetails;
+import com.egg.news.security.SessionUser;
+import com.egg.news.utils.TransactionUtils;
 import com.egg.news.utils.UserValidationUtil;
-import jakarta.servlet.http.HttpSession;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 @Service
-public class UserService implements UserDetailsService {
+@Timed(value = "news.service", description = "Service method calls")
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final ImageService imageService;
+    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
 
     @Autowired
-    public UserService(UserRepository userRepository, ImageService imageService) {
+    public UserService(UserRepository userRepository, ImageService imageService, PasswordEncoder passwordEncoder, UserCache userCache) {
         this.userRepository = userRepository;
         this.imageService = imageService;
+        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
     }
 
     @Transactional
     public void register(MultipartFile file, String name, String email, String password, String password2) throws UserInputException {
         UserValidationUtil.validateUser(name, email, password, password2);
+        if (userRepository.existsByEmail(email)) {
+            throw new UserInputException("The email is already registered");
+        }
 
         User user = new User();
 
         user.setName(name);
         user.setEmail(email);
-        user.setPassword(new BCryptPasswordEncoder().encode(password));
+        user.setPassword(encode(password));
         user.setRole(Role.USER);
 
         Image image = imageService.saveImage(file);
@@ -61,11 +71,14 @@ public class UserService implements UserDetailsService {
 
         Optional<User> optionalUser = userRepository.findById(idUser);
         User user = optionalUser.orElseThrow(() -> new UserInputException("User ID not found"));
-
+        if (!email.equals(user.getEmail()) && userRepository.existsByEmail(email)) {
+            throw new UserInputException("The email is already registered");
+        }
+        String previousEmail = user.getEmail();
 
         user.setName(name);
         user.setEmail(email);
-        user.setPassword(new BCryptPasswordEncoder().encode(password));
+        user.setPassword(encode(password));
         user.setRole(Role.USER);
 
         String idImage = user.getImage() != null ? user.getImage().getId() : null;
@@ -74,28 +87,52 @@ public class UserService implements UserDetailsService {
         user.setImage(image);
 
         userRepository.save(user);
+        TransactionUtils.afterCommit(() -> userCache.removeUserFromCache(previousEmail));
     }
 
+    @Transactional(readOnly = true)
     public User getOne(String id) {
-        return userRepository.getReferenceById(id);
+        return userRepository.findById(id).orElseThrow(() -> new UserInputException("User ID not found"));
     }
 
-    @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user1 = userRepository.searchByEmail(email);
-
-        List<GrantedAuthority> permissions = new ArrayList<>();
-
-        GrantedAuthority p = new SimpleGrantedAuthority("ROLE_" + user1.getRole().toString());
-
-        permissions.add(p);
+    // Hashing is bounded; a saturated pool is reported to the user like any other input error
+    private String encode(String password) throws UserInputException {
+        try {
+            return passwordEncoder.encode(password);
+        } catch (AuthenticationServiceException e) {
+            throw new UserInputException(e.getMessage());
+        }
+    }
 
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+    /**
+     * Replaces the stored hash of a user after a successful login, when it was made with another cost.
+     *
+     * @param user        The authenticated user.
+     * @param newPassword The password hashed with the current settings.
+     * @return The user details carrying the new hash.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        // The provider caches the principal before upgrading it, so drop the copy holding the old hash
+        TransactionUtils.afterCommit(() -> userCache.removeUserFromCache(user.getUsername()));
+        if (user instanceof AccountDetails details) {
+            return details.withPassword(newPassword);
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
 
-        HttpSession session = attributes.getRequest().getSession(true);
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // The user cache keeps what is loaded here, and a lagging replica could still hold a replaced password
+        UserCredentials credentials = ReplicaRoutingDataSource.onPrimary(() -> userRepository.findCredentialsByEmail(email));
+        if (credentials == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
 
-        session.setAttribute("usersession", user1);
+        SessionUser sessionUser = new SessionUser(credentials.id(), credentials.name(), credentials.role(), credentials.imageId());
 
-        return new org.springframework.security.core.userdetails.User(user1.getEmail(), user1.getPassword(), permissions);
+        return new AccountDetails(credentials.email(), credentials.password(), sessionUser);
     }
 }
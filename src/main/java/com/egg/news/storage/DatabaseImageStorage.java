@@ -0,0 +1,41 @@
+package com.egg.news.storage;
+
+import com.egg.news.dto.ImageMetadata;
+import com.egg.news.entities.Image;
+import com.egg.news.enums.ImageStorageType;
+import com.egg.news.repositories.ImageContentReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Keeps image content in the MEDIUMBLOB column of the Image table.
+ * Also serves every image stored before storage backends were introduced.
+ */
+@Component
+public class DatabaseImageStorage implements ImageStorage {
+
+    private final ImageContentReader imageContentReader;
+
+    @Autowired
+    public DatabaseImageStorage(ImageContentReader imageContentReader) {
+        this.imageContentReader = imageContentReader;
+    }
+
+    @Override
+    public ImageStorageType type() {
+        return ImageStorageType.DATABASE;
+    }
+
+    @Override
+    public void store(Image image, byte[] content) {
+        image.setContent(content);
+    }
+
+    @Override
+    public void copy(ImageMetadata image, long offset, long length, OutputStream out) throws IOException {
+        imageContentReader.copy(image.id(), image.hash(), offset, length, out);
+    }
+}
@@ -0,0 +1,210 @@
+package com.egg.news.storage;
+
+import com.egg.news.dto.ImageMetadata;
+import com.egg.news.entities.Image;
+import com.egg.news.enums.ImageStorageType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed image store on the local filesystem.
+ * Files are named after the SHA-256 of their content and fanned out over two directory levels,
+ * so identical uploads share a single file and a stored file never changes.
+ * Files are never deleted when an image is replaced, as other images may share them; ImageSweepJob
+ * deletes the files no image refers to anymore. Storing a content that is already present refreshes
+ * the modification time of its file, which the sweep reads as recent use.
+ */
+@Component
+public class FileSystemImageStorage implements ImageStorage {
+
+    private final Path root;
+    private final Path temporary;
+
+    public FileSystemImageStorage(@Value("${news.image.storage.root:./data/images}") String root) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.temporary = Files.createDirectories(this.root.resolve("tmp"));
+    }
+
+    @Override
+    public ImageStorageType type() {
+        return ImageStorageType.FILESYSTEM;
+    }
+
+    @Override
+    public void store(Image image, byte[] content) throws IOException {
+        image.setContent(null);
+        if (touch(resolve(image.getHash()))) {
+            return;
+        }
+        Path file = createTempFile();
+        try {
+            Files.write(file, content);
+            commit(image.getHash(), file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public void store(Image image, Path content) throws IOException {
+        image.setContent(null);
+        commit(image.getHash(), content);
+    }
+
+    /**
+     * Creates an empty file next to the store, to be filled and then published with {@link #commit(String, Path)}.
+     *
+     * @return The path of the new temporary file.
+     * @throws IOException If the file cannot be created.
+     */
+    @Override
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(temporary, "upload", ".tmp");
+    }
+
+    /**
+     * Publishes a fully written temporary file under its content hash.
+     * The move is atomic, so readers never see a partial file; if the content is already stored
+     * the temporary file is simply discarded.
+     *
+     * @param hash The hex-encoded SHA-256 of the content.
+     * @param file The temporary file holding the content.
+     * @throws IOException If the file cannot be moved into the store.
+     */
+    public void commit(String hash, Path file) throws IOException {
+        Path target = resolve(hash);
+        if (touch(target)) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently by an identical upload
+            touch(target);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Lists the hashes of the stored files last modified before the cutoff.
+     * The stream must be closed.
+     *
+     * @param cutoff The instant files must be older than.
+     * @return Stream of hex-encoded SHA-256 hashes.
+     * @throws IOException If the store cannot be walked.
+     */
+    public Stream<String> hashesModifiedBefore(Instant cutoff) throws IOException {
+        return Files.walk(root, 3)
+                .filter(file -> !file.startsWith(temporary))
+                .filter(file -> file.getNameCount() - root.getNameCount() == 3)
+                .filter(file -> isHash(file.getFileName().toString()))
+                .filter(file -> modifiedBefore(file, cutoff))
+                .map(file -> file.getFileName().toString());
+    }
+
+    /**
+     * Deletes a stored file unless it was modified at or after the cutoff, that is unless
+     * an identical content was stored again since it was listed.
+     *
+     * @param hash   The hex-encoded SHA-256 of the content.
+     * @param cutoff The instant the file must be older than.
+     * @return The size of the deleted file, or -1 if it was kept or already gone.
+     * @throws IOException If the file cannot be deleted.
+     */
+    public long deleteIfModifiedBefore(String hash, Instant cutoff) throws IOException {
+        Path file = resolve(hash);
+        if (!modifiedBefore(file, cutoff)) {
+            return -1;
+        }
+        long size = Files.size(file);
+        return Files.deleteIfExists(file) ? size : -1;
+    }
+
+    /**
+     * Deletes temporary files left behind by uploads that never completed.
+     *
+     * @param cutoff The instant files must be older than.
+     * @return The number of deleted files.
+     * @throws IOException If the temporary directory cannot be listed.
+     */
+    public int deleteTempFilesModifiedBefore(Instant cutoff) throws IOException {
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(temporary)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (modifiedBefore(file, cutoff) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public void copy(ImageMetadata image, long offset, long length, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(image.hash()), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(ImageMetadata image) {
+        return Optional.of(resolve(image.hash()));
+    }
+
+    // Marks an existing file as just used, so a sweep running concurrently keeps it
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static boolean modifiedBefore(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Two levels of fan-out keep directories small: ab/cd/abcd...
+    private Path resolve(String hash) {
+        if (!isHash(hash)) {
+            throw new IllegalArgumentException("Invalid content hash");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static boolean isHash(String hash) {
+        return hash != null && hash.length() >= 4 && hash.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.egg.news.storage;
+
+import com.egg.news.dto.ImageMetadata;
+import com.egg.news.entities.Image;
+import com.egg.news.enums.ImageStorageType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Backend holding the content of images.
+ * The Image table always keeps the metadata; implementations decide where the bytes live.
+ */
+public interface ImageStorage {
+
+    /**
+     * Identifies the backend, as recorded on every image it stores.
+     *
+     * @return The storage type of the backend.
+     */
+    ImageStorageType type();
+
+    /**
+     * Stores the content of an image whose hash and size are already set.
+     *
+     * @param image   The image entity being saved.
+     * @param content The content of the image.
+     * @throws IOException If the content cannot be written.
+     */
+    void store(Image image, byte[] content) throws IOException;
+
+    /**
+     * Stores the content of an image staged in a temporary file, whose hash and size are already set.
+     * Backends that keep files may take ownership of the temporary file instead of copying it.
+     *
+     * @param image   The image entity being saved.
+     * @param content The temporary file holding the content.
+     * @throws IOException If the content cannot be read or written.
+     */
+    default void store(Image image, Path content) throws IOException {
+        store(image, Files.readAllBytes(content));
+    }
+
+    /**
+     * Creates an empty temporary file for staging uploads, on a volume the backend can take files from.
+     *
+     * @return The path of the new temporary file.
+     * @throws IOException If the file cannot be created.
+     */
+    default Path createTempFile() throws IOException {
+        return Files.createTempFile("upload", ".tmp");
+    }
+
+    /**
+     * Copies a range of the content of an image to the provided stream.
+     *
+     * @param image  The metadata of the image.
+     * @param offset The zero-based offset of the first byte to copy.
+     * @param length The number of bytes to copy.
+     * @param out    The stream to write to.
+     * @throws IOException If reading the content or writing to the stream fails.
+     */
+    void copy(ImageMetadata image, long offset, long length, OutputStream out) throws IOException;
+
+    /**
+     * Returns the local file holding the content, for backends able to serve it with zero-copy transfers.
+     *
+     * @param image The metadata of the image.
+     * @return The file holding the content, or empty if the content is not a local file.
+     */
+    default Optional<Path> localFile(ImageMetadata image) {
+        return Optional.empty();
+    }
+}
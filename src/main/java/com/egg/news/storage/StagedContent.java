@@ -0,0 +1,22 @@
+package com.egg.news.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Upload written to a temporary file in a single pass, together with what was learned while reading it.
+ * Closing it removes the temporary file unless a backend has already moved it into place.
+ *
+ * @param file The temporary file holding the content.
+ * @param hash The hex-encoded SHA-256 of the content.
+ * @param size The length of the content in bytes.
+ * @param mime The MIME type detected from the content.
+ */
+public record StagedContent(Path file, String hash, long size, String mime) implements AutoCloseable {
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,63 @@
+package com.egg.news.utils;
+
+/**
+ * Utility class building the excerpts shown by listings in place of the full body of a news article.
+ */
+public class ExcerptUtils {
+
+    /**
+     * Maximum number of characters of an excerpt, not counting the trailing ellipsis.
+     */
+    public static final int MAX_LENGTH = 300;
+
+    private static final char ELLIPSIS = '\u2026';
+
+    private ExcerptUtils() {
+        // Private constructor to prevent instantiation, as this is a utility class.
+    }
+
+    /**
+     * Builds the excerpt of a body: its text with whitespace runs collapsed to single spaces,
+     * cut at the last word boundary that fits and followed by an ellipsis if anything was left out.
+     *
+     * @param body The body of the news.
+     * @return The excerpt, at most {@link #MAX_LENGTH} characters plus the ellipsis; null if the body is null.
+     */
+    public static String excerpt(String body) {
+        if (body == null) {
+            return null;
+        }
+        StringBuilder excerpt = new StringBuilder(Math.min(body.length(), MAX_LENGTH + 1));
+        boolean space = false;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = excerpt.length() > 0;
+                continue;
+            }
+            if (space) {
+                excerpt.append(' ');
+                space = false;
+            }
+            excerpt.append(c);
+            if (excerpt.length() > MAX_LENGTH) {
+                return cut(excerpt);
+            }
+        }
+        return excerpt.toString();
+    }
+
+    // Cuts at the last space, unless that would drop more than half of the excerpt
+    private static String cut(StringBuilder excerpt) {
+        int end = excerpt.lastIndexOf(" ", MAX_LENGTH);
+        if (end < MAX_LENGTH / 2) {
+            end = MAX_LENGTH;
+            // Never split a surrogate pair
+            if (Character.isHighSurrogate(excerpt.charAt(end - 1))) {
+                end--;
+            }
+        }
+        excerpt.setLength(end);
+        return excerpt.append(ELLIPSIS).toString();
+    }
+}
@@ -0,0 +1,268 @@
+package com.egg.news.utils;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Declarative set of rules for one text field, checked in a single scan of its characters.
+ * Checking returns a bit mask of the rules that failed and allocates nothing, so valid input costs
+ * one pass over the characters; messages are only produced when something failed.
+ * Character classes are ASCII, as in the regular expressions the rules replace.
+ */
+public final class FieldRules {
+
+    // Each rule is one bit of the failure mask
+    private enum Rule {
+        NOT_NULL, NOT_BLANK, MIN_LENGTH, MAX_LENGTH, ALLOWED, DIGIT, LOWERCASE, UPPERCASE, SPECIAL,
+        ONE_SEPARATOR, HEAD_LENGTH, TAIL_LENGTH;
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    /**
+     * Set of ASCII characters, one bit per character.
+     *
+     * @param low  Characters 0 to 63.
+     * @param high Characters 64 to 127.
+     */
+    public record Chars(long low, long high) {
+
+        public static Chars of(String characters) {
+            long low = 0;
+            long high = 0;
+            for (int i = 0; i < characters.length(); i++) {
+                char c = characters.charAt(i);
+                if (c >= 128) {
+                    throw new IllegalArgumentException("Only ASCII characters are supported: " + c);
+                }
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << (c - 64);
+                }
+            }
+            return new Chars(low, high);
+        }
+
+        public static Chars range(char from, char to) {
+            StringBuilder characters = new StringBuilder();
+            for (char c = from; c <= to; c++) {
+                characters.append(c);
+            }
+            return of(characters.toString());
+        }
+
+        public Chars or(Chars other) {
+            return new Chars(low | other.low, high | other.high);
+        }
+
+        public boolean contains(char c) {
+            if (c < 64) {
+                return (low & (1L << c)) != 0;
+            }
+            return c < 128 && (high & (1L << (c - 64))) != 0;
+        }
+    }
+
+    public static final Chars DIGITS = Chars.range('0', '9');
+    public static final Chars LOWERCASE = Chars.range('a', 'z');
+    public static final Chars UPPERCASE = Chars.range('A', 'Z');
+    public static final Chars LETTERS = LOWERCASE.or(UPPERCASE);
+
+    private final String[] messages = new String[Rule.values().length];
+    private int rules;
+    private int minLength;
+    private int maxLength = Integer.MAX_VALUE;
+    private Chars allowed;
+    private Chars special;
+    private char separator;
+    private int minHead;
+    private int maxHead;
+    private int minTail;
+    private int maxTail;
+
+    private FieldRules() {
+    }
+
+    /**
+     * Starts a new set of rules.
+     *
+     * @return A builder with no rules.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks a value against every rule. A null value only fails the not-null rule, if declared.
+     * Length rules on both sides of the separator only apply when it appears exactly once.
+     *
+     * @param value The value to check.
+     * @return The mask of failed rules; 0 if the value is valid.
+     */
+    public int check(CharSequence value) {
+        if (value == null) {
+            return rules & (Rule.NOT_NULL.bit() | Rule.NOT_BLANK.bit());
+        }
+        int length = value.length();
+        boolean blank = true;
+        boolean disallowed = false;
+        boolean digit = false;
+        boolean lowercase = false;
+        boolean uppercase = false;
+        boolean specialFound = false;
+        int separators = 0;
+        int separatorIndex = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            // Same definition of whitespace as String.trim
+            blank &= c <= ' ';
+            digit |= c >= '0' && c <= '9';
+            lowercase |= c >= 'a' && c <= 'z';
+            uppercase |= c >= 'A' && c <= 'Z';
+            specialFound |= special != null && special.contains(c);
+            disallowed |= allowed != null && !allowed.contains(c);
+            if (c == separator && has(Rule.ONE_SEPARATOR)) {
+                separators++;
+                separatorIndex = i;
+            }
+        }
+
+        int failed = 0;
+        failed |= fails(Rule.NOT_BLANK, blank);
+        failed |= fails(Rule.MIN_LENGTH, length < minLength);
+        failed |= fails(Rule.MAX_LENGTH, length > maxLength);
+        failed |= fails(Rule.ALLOWED, disallowed);
+        failed |= fails(Rule.DIGIT, !digit);
+        failed |= fails(Rule.LOWERCASE, !lowercase);
+        failed |= fails(Rule.UPPERCASE, !uppercase);
+        failed |= fails(Rule.SPECIAL, !specialFound);
+        failed |= fails(Rule.ONE_SEPARATOR, separators != 1);
+        if (separators == 1) {
+            int head = separatorIndex;
+            int tail = length - separatorIndex - 1;
+            failed |= fails(Rule.HEAD_LENGTH, head < minHead || head > maxHead);
+            failed |= fails(Rule.TAIL_LENGTH, tail < minTail || tail > maxTail);
+        }
+        return failed;
+    }
+
+    /**
+     * Indicates whether a value passes every rule.
+     *
+     * @param value The value to check.
+     * @return true if no rule failed.
+     */
+    public boolean isValid(CharSequence value) {
+        return check(value) == 0;
+    }
+
+    /**
+     * Adds the messages of the failed rules, in declaration order of the rule kinds.
+     * Rules declared with the same message report it once.
+     *
+     * @param failed The mask returned by {@link #check(CharSequence)}.
+     * @param out    The collection to add the messages to.
+     */
+    public void describe(int failed, Collection<String> out) {
+        String previous = null;
+        for (Rule rule : Rule.values()) {
+            if ((failed & rule.bit()) != 0 && !Objects.equals(messages[rule.ordinal()], previous)) {
+                previous = messages[rule.ordinal()];
+                out.add(previous);
+            }
+        }
+    }
+
+    private boolean has(Rule rule) {
+        return (rules & rule.bit()) != 0;
+    }
+
+    private int fails(Rule rule, boolean failed) {
+        return failed ? rules & rule.bit() : 0;
+    }
+
+    /**
+     * Declares the rules of a field, each one with the message reported when it fails.
+     */
+    public static final class Builder {
+
+        private final FieldRules target = new FieldRules();
+
+        private Builder() {
+        }
+
+        public Builder notNull(String message) {
+            return rule(Rule.NOT_NULL, message);
+        }
+
+        // Fails on null, empty and whitespace-only values
+        public Builder notBlank(String message) {
+            return rule(Rule.NOT_BLANK, message);
+        }
+
+        public Builder minLength(int minLength, String message) {
+            target.minLength = minLength;
+            return rule(Rule.MIN_LENGTH, message);
+        }
+
+        public Builder maxLength(int maxLength, String message) {
+            target.maxLength = maxLength;
+            return rule(Rule.MAX_LENGTH, message);
+        }
+
+        public Builder onlyCharacters(Chars allowed, String message) {
+            target.allowed = allowed;
+            return rule(Rule.ALLOWED, message);
+        }
+
+        public Builder requireDigit(String message) {
+            return rule(Rule.DIGIT, message);
+        }
+
+        public Builder requireLowercase(String message) {
+            return rule(Rule.LOWERCASE, message);
+        }
+
+        public Builder requireUppercase(String message) {
+            return rule(Rule.UPPERCASE, message);
+        }
+
+        public Builder requireAnyOf(Chars special, String message) {
+            target.special = special;
+            return rule(Rule.SPECIAL, message);
+        }
+
+        public Builder exactlyOne(char separator, String message) {
+            target.separator = separator;
+            return rule(Rule.ONE_SEPARATOR, message);
+        }
+
+        // Length of the part before the separator declared by exactlyOne
+        public Builder headLength(int min, int max, String message) {
+            target.minHead = min;
+            target.maxHead = max;
+            return rule(Rule.HEAD_LENGTH, message);
+        }
+
+        // Length of the part after the separator declared by exactlyOne
+        public Builder tailLength(int min, int max, String message) {
+            target.minTail = min;
+            target.maxTail = max;
+            return rule(Rule.TAIL_LENGTH, message);
+        }
+
+        public FieldRules build() {
+            return target;
+        }
+
+        private Builder rule(Rule rule, String message) {
+            target.rules |= rule.bit();
+            target.messages[rule.ordinal()] = message;
+            return this;
+        }
+    }
+}
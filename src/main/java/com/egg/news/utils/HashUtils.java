@@ -0,0 +1,49 @@
+package com.egg.news.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for content hashing.
+ */
+public class HashUtils {
+
+    private HashUtils() {
+        // Private constructor to prevent instantiation, as this is a utility class.
+    }
+
+    /**
+     * Creates a new SHA-256 digest.
+     *
+     * @return A fresh SHA-256 message digest.
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Computes the hex-encoded SHA-256 of the provided content.
+     *
+     * @param content The content to hash.
+     * @return The lowercase hex-encoded digest.
+     */
+    public static String sha256Hex(byte[] content) {
+        return toHex(sha256().digest(content));
+    }
+
+    /**
+     * Encodes a digest as lowercase hex.
+     *
+     * @param digest The digest bytes.
+     * @return The lowercase hex-encoded digest.
+     */
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,58 @@
+package com.egg.news.utils;
+
+/**
+ * Utility class detecting image formats from their leading bytes.
+ */
+public class ImageTypeUtils {
+
+    /**
+     * Number of leading bytes needed to recognize every supported format.
+     */
+    public static final int HEADER_LENGTH = 12;
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] GIF87 = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] GIF89 = {'G', 'I', 'F', '8', '9', 'a'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP = {'W', 'E', 'B', 'P'};
+
+    private ImageTypeUtils() {
+        // Private constructor to prevent instantiation, as this is a utility class.
+    }
+
+    /**
+     * Detects the MIME type of an image from its magic bytes, ignoring whatever the client declared.
+     *
+     * @param header The leading bytes of the content.
+     * @param length The number of valid bytes in the header.
+     * @return The MIME type of the image, or null if it is not a supported format.
+     */
+    public static String detect(byte[] header, int length) {
+        if (startsWith(header, length, 0, PNG)) {
+            return "image/png";
+        }
+        if (startsWith(header, length, 0, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, length, 0, GIF87) || startsWith(header, length, 0, GIF89)) {
+            return "image/gif";
+        }
+        if (startsWith(header, length, 0, RIFF) && startsWith(header, length, 8, WEBP)) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int offset, byte[] magic) {
+        if (length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (header[offset + i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
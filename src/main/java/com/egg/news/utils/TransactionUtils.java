@@ -0,0 +1,33 @@
+package com.egg.news.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for hooking work onto the current transaction.
+ */
+public class TransactionUtils {
+
+    private TransactionUtils() {
+        // Private constructor to prevent instantiation, as this is a utility class.
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or immediately if there is none.
+     * Used to keep in-memory structures from observing writes that are later rolled back.
+     *
+     * @param action The action to run.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -3,83 +3,70 @@ package com.egg.news.utils;
 
 import com.egg.news.exceptions.UserInputException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
+/**
+ * Validation of registration and profile input.
+ * Every field is checked in a single scan and every violation is reported at once,
+ * so a form is corrected in one round trip; valid input allocates nothing.
+ */
 public class UserValidationUtil {
+
+    private static final FieldRules NAME = FieldRules.builder()
+            .notNull("Name cannot be null")
+            .minLength(2, "Name must be at least 2 characters long")
+            .onlyCharacters(FieldRules.LETTERS.or(FieldRules.Chars.of(" ")), "Name can only contain letters and spaces")
+            .build();
+
+    private static final FieldRules PASSWORD = FieldRules.builder()
+            .notNull("Passwords cannot be null")
+            .minLength(8, "Password must be at least 8 characters long")
+            .requireDigit("Password must contain at least one digit")
+            .requireLowercase("Password must contain at least one uppercase and one lowercase letter")
+            .requireUppercase("Password must contain at least one uppercase and one lowercase letter")
+            .requireAnyOf(FieldRules.Chars.of("!@#$%^&*()"), "Password must contain at least one special character (!@#$%^&*())")
+            .build();
+
+    private static final FieldRules EMAIL = FieldRules.builder()
+            .notNull("Email cannot be null")
+            .exactlyOne('@', "Email must contain one '@' character")
+            .headLength(1, 64, "Local part of email must be between 1 and 64 characters")
+            .tailLength(1, 255, "Domain part of email must be between 1 and 255 characters")
+            .build();
+
     private UserValidationUtil() {
         // Private constructor to prevent instantiation
     }
 
 
+    /**
+     * Validates the fields of a user.
+     *
+     * @param name      The name of the user.
+     * @param email     The email of the user.
+     * @param password  The password of the user.
+     * @param password2 The confirmation of the password.
+     * @throws UserInputException With every violation found, if any.
+     */
     public static void validateUser(String name, String email, String password, String password2) {
-        validateName(name);
-        validatePassword(password,password2);
-        validateEmail(email);
-    }
-
-    private static void validateEmail(String email) {
-        if (email == null) {
-            throw new UserInputException("Email cannot be null");
-        }
-
-        String[] parts = email.split("@");
-
-        if (parts.length != 2) {
-            throw new UserInputException("Email must contain one '@' character");
-        }
-
-        String localPart = parts[0];
-        String domainPart = parts[1];
-
-        if (localPart.isEmpty() || localPart.length() > 64) {
-            throw new UserInputException("Local part of email must be between 1 and 64 characters");
-        }
-
-        if (domainPart.isEmpty() || domainPart.length() > 255) {
-            throw new UserInputException("Domain part of email must be between 1 and 255 characters");
-        }
-    }
-
-
-    private static void validatePassword(String password, String password2) {
-        if (!Objects.equals(password, password2)) {
-            throw new UserInputException("Passwords should match");
-        }
-
-        if (password == null) {
-            throw new UserInputException("Passwords cannot be null");
-        }
-
-        if (password.length() < 8) {
-            throw new UserInputException("Password must be at least 8 characters long");
-        }
-
-        if (!password.matches(".*\\d.*")) {
-            throw new UserInputException("Password must contain at least one digit");
-        }
-
-        if (!password.matches(".*[a-z].*") || !password.matches(".*[A-Z].*")) {
-            throw new UserInputException("Password must contain at least one uppercase and one lowercase letter");
-        }
-
-        if (!password.matches(".*[!@#$%^&*()].*")) {
-            throw new UserInputException("Password must contain at least one special character (!@#$%^&*())");
-        }
-    }
-
-
-    private static void validateName(String name) {
-        if (name == null) {
-            throw new UserInputException("Name cannot be null");
-        }
-
-        if (name.length() < 2) {
-            throw new UserInputException("Name must be at least 2 characters long");
+        int nameFailures = NAME.check(name);
+        boolean passwordsMatch = Objects.equals(password, password2);
+        int passwordFailures = PASSWORD.check(password);
+        int emailFailures = EMAIL.check(email);
+        if (nameFailures == 0 && passwordsMatch && passwordFailures == 0 && emailFailures == 0) {
+            return;
         }
 
-        if (!name.matches("[a-zA-Z ]+")) {
-            throw new UserInputException("Name can only contain letters and spaces");
+        List<String> violations = new ArrayList<>();
+        NAME.describe(nameFailures, violations);
+        if (!passwordsMatch) {
+            violations.add("Passwords should match");
         }
+        PASSWORD.describe(passwordFailures, violations);
+        EMAIL.describe(emailFailures, violations);
+        throw new UserInputException(violations);
     }
 
 }
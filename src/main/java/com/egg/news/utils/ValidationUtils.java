@@ -8,6 +8,12 @@ import org.springframework.web.multipart.MultipartFile;
  */
 public class ValidationUtils {
 
+    private static final String EMPTY_INPUT = "The input cannot be empty";
+
+    private static final FieldRules REQUIRED = FieldRules.builder()
+            .notBlank(EMPTY_INPUT)
+            .build();
+
     private ValidationUtils() {
         // Private constructor to prevent instantiation, as this is a utility class.
     }
@@ -20,18 +26,18 @@ public class ValidationUtils {
      */
     public static void validateImage(MultipartFile image) {
         if (image == null) {
-            throw new UserInputException("The input cannot be empty");
+            throw new UserInputException(EMPTY_INPUT);
         }
     }
 
     /**
-     * Checks if the input string is null or empty.
+     * Checks if the input string is null, empty or whitespace only, without trimming a copy of it.
      *
      * @param input The input string to be checked.
      * @return true if the input is null or empty, false otherwise.
      */
     public static boolean isInvalidInput(String input) {
-        return input == null || input.trim().isEmpty();
+        return !REQUIRED.isValid(input);
     }
 
     /**
@@ -43,7 +49,7 @@ public class ValidationUtils {
     public static void validateInput(String... inputs) throws UserInputException {
         for (String input : inputs) {
             if (isInvalidInput(input)) {
-                throw new UserInputException("The input cannot be empty");
+                throw new UserInputException(EMPTY_INPUT);
             }
         }
     }
@@ -0,0 +1,32 @@
+-- Converts the VARCHAR(255) UUID keys written by the uuid2 generator into BINARY(16) (MySQL 8).
+-- Run once, with the application stopped and after a backup, before starting a release with
+-- time-ordered binary IDs. Existing IDs keep their value: only their storage changes, so URLs
+-- and bookmarks keep working. Rows created afterwards get time-ordered IDs.
+--
+--   mysql -u root -p news < binary-ids.sql
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- Widen to VARBINARY first, so the conversion happens in place, then pack into 16 bytes
+ALTER TABLE author MODIFY id VARBINARY(255) NOT NULL;
+ALTER TABLE image MODIFY id VARBINARY(255) NOT NULL, MODIFY original_id VARBINARY(255);
+ALTER TABLE news MODIFY id VARBINARY(255) NOT NULL, MODIFY author_id VARBINARY(255);
+ALTER TABLE user MODIFY id VARBINARY(255) NOT NULL, MODIFY image_id VARBINARY(255);
+
+UPDATE author SET id = UNHEX(REPLACE(id, '-', '')) WHERE LENGTH(id) = 36;
+UPDATE image SET id = UNHEX(REPLACE(id, '-', '')) WHERE LENGTH(id) = 36;
+UPDATE image SET original_id = UNHEX(REPLACE(original_id, '-', '')) WHERE LENGTH(original_id) = 36;
+UPDATE news SET id = UNHEX(REPLACE(id, '-', '')) WHERE LENGTH(id) = 36;
+UPDATE news SET author_id = UNHEX(REPLACE(author_id, '-', '')) WHERE LENGTH(author_id) = 36;
+UPDATE user SET id = UNHEX(REPLACE(id, '-', '')) WHERE LENGTH(id) = 36;
+UPDATE user SET image_id = UNHEX(REPLACE(image_id, '-', '')) WHERE LENGTH(image_id) = 36;
+
+ALTER TABLE author MODIFY id BINARY(16) NOT NULL;
+ALTER TABLE image MODIFY id BINARY(16) NOT NULL, MODIFY original_id BINARY(16);
+ALTER TABLE news MODIFY id BINARY(16) NOT NULL, MODIFY author_id BINARY(16);
+ALTER TABLE user MODIFY id BINARY(16) NOT NULL, MODIFY image_id BINARY(16);
+
+-- Secondary indexes embed the primary key, so rebuild them at their new size
+OPTIMIZE TABLE author, image, news, user;
+
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,99 @@
+package com.egg.news.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing between two in-memory H2 databases named after their role, each telling its name through DATABASE().
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "news.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "news.datasource.replica.read-your-writes=PT1S"
+})
+class ReplicaRoutingDataSourceTests {
+
+    private static final String CURRENT_DATABASE = "SELECT DATABASE()";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void startRequest() {
+        // Read-your-writes follows the HTTP session of the current request
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void endRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionReadsTheReplica() {
+        assertEquals("replica", read());
+    }
+
+    @Test
+    void readWriteTransactionUsesThePrimary() {
+        assertEquals("primary", transaction(false).execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void sessionThatWroteReadsThePrimaryUntilTheWindowEnds() throws InterruptedException {
+        write();
+        assertEquals("primary", read());
+
+        Thread.sleep(1500);
+        assertEquals("replica", read());
+    }
+
+    @Test
+    void writesPinOnlyTheirOwnSession() {
+        write();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals("replica", read());
+    }
+
+    @Test
+    void onPrimaryOverridesTheReplica() {
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(this::read));
+    }
+
+    private void write() {
+        transaction(false).executeWithoutResult(status -> currentDatabase());
+    }
+
+    private String read() {
+        return transaction(true).execute(status -> currentDatabase());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject(CURRENT_DATABASE, String.class).toLowerCase();
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+}
@@ -0,0 +1,51 @@
+package com.egg.news.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NewsCursorTests {
+
+    @Test
+    void decodesWhatItEncodes() {
+        Date date = new Date(1_700_000_000_123L);
+        String id = "01a14bb0-0203-76ea-985f-442b192f6d8a";
+
+        assertEquals(new NewsCursor(date, id), NewsCursor.decode(NewsCursor.encode(date, id)));
+    }
+
+    @Test
+    void keepsSeparatorsInsideTheId() {
+        Date date = new Date(42);
+
+        assertEquals(new NewsCursor(date, "a:b:c"), NewsCursor.decode(NewsCursor.encode(date, "a:b:c")));
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        String token = NewsCursor.encode(new Date(Long.MAX_VALUE), "ÿþ?/+=");
+
+        assertFalse(token.matches(".*[+/=?&].*"), token);
+    }
+
+    @Test
+    void rejectsEmptyAndMalformedTokens() {
+        assertNull(NewsCursor.decode(null));
+        assertNull(NewsCursor.decode(""));
+        assertNull(NewsCursor.decode("not base64!"));
+        // Valid base64 without a separator, with an empty date and with a date that is not a number
+        assertNull(NewsCursor.decode(encoded("12345")));
+        assertNull(NewsCursor.decode(encoded(":id")));
+        assertNull(NewsCursor.decode(encoded("yesterday:id")));
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,79 @@
+package com.egg.news.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Tests {
+
+    @Test
+    void hasVersion7AndTheIetfVariant() {
+        UUID uuid = UUID.fromString(UuidV7.generate());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void startsWithTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UUID.fromString(UuidV7.generate());
+        long after = System.currentTimeMillis();
+
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        // The counter may borrow the next millisecond when it wraps
+        assertTrue(millis >= before && millis <= after + 1, () -> millis + " not in [" + before + ", " + after + "]");
+    }
+
+    @Test
+    void increaseAsStringsAndAsBytesEvenWithinOneMillisecond() {
+        // Far more IDs than one millisecond's sequence holds, so the counter wraps at least once
+        String previous = UuidV7.generate();
+        for (int i = 0; i < 20_000; i++) {
+            String next = UuidV7.generate();
+            String message = previous + " >= " + next;
+            assertTrue(previous.compareTo(next) < 0, message);
+            assertTrue(Arrays.compareUnsigned(UuidV7.toBytes(previous), UuidV7.toBytes(next)) < 0, message);
+            previous = next;
+        }
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        String id = UuidV7.generate();
+        byte[] bytes = UuidV7.toBytes(id);
+
+        assertEquals(16, bytes.length);
+        assertEquals(id, UuidV7.fromBytes(bytes));
+    }
+
+    @Test
+    void bytesFollowTheCanonicalHexOrder() {
+        assertArrayEquals(new byte[]{0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef,
+                        0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef},
+                UuidV7.toBytes("01234567-89ab-cdef-0123-456789abcdef"));
+    }
+
+    @Test
+    void uppercaseIdsAreStoredAsTheSameBytes() {
+        String id = UuidV7.generate();
+
+        assertArrayEquals(UuidV7.toBytes(id), UuidV7.toBytes(id.toUpperCase()));
+        assertEquals(id, UuidV7.fromBytes(UuidV7.toBytes(id.toUpperCase())));
+    }
+
+    @Test
+    void nonUuidsPassThroughAsTheirUtf8Bytes() {
+        // Too short, and of the right length but not hexadecimal
+        for (String id : new String[]{"", "not-an-id", "zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz"}) {
+            assertArrayEquals(id.getBytes(StandardCharsets.UTF_8), UuidV7.toBytes(id));
+            assertEquals(id, UuidV7.fromBytes(UuidV7.toBytes(id)));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.egg.news.imports;
+
+import com.egg.news.exceptions.UserInputException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvNewsRowReaderTests {
+
+    @Test
+    void readsPlainRows() throws IOException {
+        List<ImportRow> rows = read("title,body,authorId,date\nBudget,Text,a1,2024-01-02\nWeather,Rain,a2,\n");
+
+        assertEquals(List.of(
+                new ImportRow(2, "Budget", "Text", "a1", null, "2024-01-02", null),
+                new ImportRow(3, "Weather", "Rain", "a2", null, null, null)), rows);
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        List<ImportRow> rows = read("title,body,author\r\n"
+                + "\"Rates, again\",\"He said \"\"no\"\".\nSecond line\",Ana Diaz\r\n"
+                + "Next,Body,Bob Ross\r\n");
+
+        assertEquals(2, rows.size());
+        assertEquals(new ImportRow(2, "Rates, again", "He said \"no\".\nSecond line", null, "Ana Diaz", null, null), rows.get(0));
+        // Line numbers count the physical lines of the multiline field
+        assertEquals(4, rows.get(1).line());
+    }
+
+    @Test
+    void headerNamesAreMatchedLoosely() throws IOException {
+        List<ImportRow> rows = read(" Body , TITLE ,author_name\nText,Budget,Ana\n");
+
+        assertEquals(new ImportRow(2, "Budget", "Text", null, "Ana", null, null), rows.get(0));
+    }
+
+    @Test
+    void skipsBlankLinesAndAcceptsAMissingFinalNewline() throws IOException {
+        List<ImportRow> rows = read("title,body,authorId\n\nBudget,Text,a1\n\nWeather,Rain,a2");
+
+        assertEquals(List.of("Budget", "Weather"), rows.stream().map(ImportRow::title).toList());
+        assertEquals(List.of(3L, 5L), rows.stream().map(ImportRow::line).toList());
+    }
+
+    @Test
+    void wrongColumnCountRejectsOnlyThatRow() throws IOException {
+        List<ImportRow> rows = read("title,body,authorId\nBudget,Text\nWeather,Rain,a2\n");
+
+        assertEquals(ImportRow.malformed(2, "Expected 3 columns, found 2"), rows.get(0));
+        assertEquals("Weather", rows.get(1).title());
+    }
+
+    @Test
+    void unterminatedQuoteIsReportedAtItsFirstLine() throws IOException {
+        List<ImportRow> rows = read("title,body,authorId\nBudget,Text,a1\n\"Open,Text,a2\nmore\n");
+
+        assertEquals(2, rows.size());
+        assertEquals(ImportRow.malformed(3, "Unterminated quoted field"), rows.get(1));
+    }
+
+    @Test
+    void headerMustNameTheRequiredColumns() {
+        assertThrows(UserInputException.class, () -> read(""));
+        assertThrows(UserInputException.class, () -> read("title,authorId\nBudget,a1\n"));
+        assertThrows(UserInputException.class, () -> read("title,body\nBudget,Text\n"));
+    }
+
+    private static List<ImportRow> read(String csv) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        try (CsvNewsRowReader reader = new CsvNewsRowReader(new BufferedReader(new StringReader(csv)))) {
+            for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+            assertNull(reader.next());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,165 @@
+package com.egg.news.search;
+
+import com.egg.news.dto.NewsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NewsSearchIndexTests {
+
+    private NewsSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NewsSearchIndex();
+    }
+
+    @Test
+    void matchesEveryTermOfTheQuery() {
+        index.index(news("a", "Markets rally", "Stocks closed higher", 1));
+        index.index(news("b", "Markets fall", "Bonds closed lower", 2));
+
+        assertEquals(List.of("a"), search("markets stocks", null));
+        assertEquals(List.of(), search("markets weather", null));
+    }
+
+    @Test
+    void titleMatchesOutrankBodyMatches() {
+        index.index(news("body", "Weather report", "Elections are coming next week", 2));
+        index.index(news("title", "Elections called", "The vote takes place in spring", 1));
+
+        assertEquals(List.of("title", "body"), search("elections", null));
+    }
+
+    @Test
+    void exactPhraseOutranksScatteredTerms() {
+        index.index(news("scattered", "Report", "The bank said interest on loans and central rates rose", 2));
+        index.index(news("phrase", "Report", "The central bank said rates rose on loans and interest", 1));
+
+        assertEquals(List.of("phrase", "scattered"), search("central bank", null));
+    }
+
+    @Test
+    void equalScoresAreOrderedNewestFirst() {
+        index.index(news("old", "Budget", "Same text", 1));
+        index.index(news("new", "Budget", "Same text", 2));
+
+        assertEquals(List.of("new", "old"), search("budget", null));
+    }
+
+    @Test
+    void lastTermMatchesAsPrefix() {
+        index.index(news("a", "Economic outlook", "", 1));
+        index.index(news("b", "Economy grows", "", 2));
+        index.index(news("c", "Ecology summit", "", 3));
+
+        assertEquals(List.of("b", "a"), search("econ", null));
+        // Only the trailing term is a prefix
+        assertEquals(List.of(), search("econ grows", null));
+        assertEquals(List.of("b"), search("economy gro", null));
+    }
+
+    @Test
+    void matchesAcrossCaseAndAccents() {
+        index.index(news("a", "Economía en alza", "", 1));
+
+        assertEquals(List.of("a"), search("ECONOMIA", null));
+    }
+
+    @Test
+    void filtersByAuthor() {
+        index.index(news("a", "Budget", "", 1, "ana"));
+        index.index(news("b", "Budget", "", 2, "bob"));
+
+        assertEquals(List.of("a"), search("budget", "ana"));
+    }
+
+    @Test
+    void reindexingReplacesTheOldVersion() {
+        index.index(news("a", "Budget", "", 1));
+        index.index(news("a", "Weather", "", 1));
+
+        assertEquals(List.of(), search("budget", null));
+        assertEquals(List.of("a"), search("weather", null));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removedNewsAreNotFound() {
+        index.index(news("a", "Budget", "", 1));
+        index.markReady();
+        index.remove("a");
+
+        assertEquals(List.of(), search("budget", null));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void buildDoesNotResurrectNewsRemovedMeanwhile() {
+        index.remove("a");
+        index.addAll(List.of(news("a", "Budget", "", 1), news("b", "Budget", "", 2)));
+        assertFalse(index.isReady());
+        index.markReady();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of("b"), search("budget", null));
+    }
+
+    @Test
+    void limitKeepsTheBestHitsAndCountsEveryMatch() {
+        for (int i = 1; i <= 5; i++) {
+            index.index(news("n" + i, "Budget", "", i));
+        }
+        index.index(news("title", "Budget budget budget", "", 0));
+
+        NewsSearchIndex.SearchResult result = index.search("budget", null, 3);
+
+        assertEquals(List.of("title", "n5", "n4"), result.ids());
+        assertEquals(6, result.total());
+    }
+
+    @Test
+    void prefixExpandsToTheMostFrequentTerms() {
+        // Rare terms sort before the frequent one and fill the expansion limit on their own
+        for (int i = 0; i < NewsSearchIndex.MAX_PREFIX_EXPANSION; i++) {
+            index.index(news("rare" + i, String.format("mark%03d", i), "", 1));
+        }
+        for (int i = 0; i < 3; i++) {
+            index.index(news("frequent" + i, "Markets", "", 2));
+        }
+
+        NewsSearchIndex.SearchResult result = index.search("mark", null, 100);
+
+        assertTrue(result.ids().containsAll(List.of("frequent0", "frequent1", "frequent2")));
+        assertEquals(NewsSearchIndex.MAX_PREFIX_EXPANSION + 2, result.total());
+        assertEquals(1, index.truncatedPrefixCount());
+    }
+
+    @Test
+    void prefixWithinTheLimitIsNotReportedAsTruncated() {
+        index.index(news("a", "Economic outlook", "", 1));
+        index.index(news("b", "Economy grows", "", 2));
+
+        search("econ", null);
+
+        assertEquals(0, index.truncatedPrefixCount());
+    }
+
+    private List<String> search(String query, String idAuthor) {
+        return index.search(query, idAuthor, Integer.MAX_VALUE).ids();
+    }
+
+    private static NewsView news(String id, String title, String body, long date) {
+        return news(id, title, body, date, "ana");
+    }
+
+    private static NewsView news(String id, String title, String body, long date, String authorId) {
+        return new NewsView(id, title, body, new Date(date), authorId, authorId);
+    }
+}
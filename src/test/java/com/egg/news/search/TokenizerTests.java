@@ -0,0 +1,37 @@
+package com.egg.news.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenizerTests {
+
+    @Test
+    void splitsOnAnythingButLettersAndDigits() {
+        assertEquals(List.of("covid", "19", "cases", "rise", "3", "5"), Tokenizer.tokenize("COVID-19 cases rise 3.5%!"));
+    }
+
+    @Test
+    void foldsCaseAndDiacritics() {
+        assertEquals(List.of("economia", "manana", "ca", "uber"), Tokenizer.tokenize("Economía MAÑANA Ça Über"));
+    }
+
+    @Test
+    void keepsTermsInOrderIncludingRepeats() {
+        assertEquals(List.of("to", "be", "or", "not", "to", "be"), Tokenizer.tokenize("To be, or not to be"));
+    }
+
+    @Test
+    void tokenizesNonLatinLetters() {
+        assertEquals(List.of("новости", "日本"), Tokenizer.tokenize("Новости / 日本"));
+    }
+
+    @Test
+    void emptyInputsHaveNoTerms() {
+        assertEquals(List.of(), Tokenizer.tokenize(null));
+        assertEquals(List.of(), Tokenizer.tokenize(""));
+        assertEquals(List.of(), Tokenizer.tokenize(" -- ... "));
+    }
+}
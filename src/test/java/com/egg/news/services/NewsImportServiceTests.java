@@ -0,0 +1,154 @@
+package com.egg.news.services;
+
+import com.egg.news.cache.DataVersion;
+import com.egg.news.dto.AuthorView;
+import com.egg.news.dto.ImportReport;
+import com.egg.news.dto.NewsView;
+import com.egg.news.feeds.NewsFeeds;
+import com.egg.news.imports.ImportRow;
+import com.egg.news.imports.NewsRowReader;
+import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.repositories.NewsBatchWriter;
+import com.egg.news.search.NewsSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rows are validated one by one, and a batch the database refuses is retried row by row.
+ */
+class NewsImportServiceTests {
+
+    private static final AuthorView ANA = new AuthorView("a1", "Ana Diaz");
+    private static final AuthorView BOB = new AuthorView("a2", "Bob Ross");
+    private static final AuthorView OTHER_BOB = new AuthorView("a3", "Bob Ross");
+
+    private NewsBatchWriter newsBatchWriter;
+    private AuthorRepository authorRepository;
+    private NewsSearchIndex searchIndex;
+    private NewsImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        newsBatchWriter = mock(NewsBatchWriter.class);
+        authorRepository = mock(AuthorRepository.class);
+        searchIndex = mock(NewsSearchIndex.class);
+        when(authorRepository.findViewsByIds(anyCollection())).thenAnswer(call -> authors(call.getArgument(0), true));
+        when(authorRepository.findViewsByNames(anyCollection())).thenAnswer(call -> authors(call.getArgument(0), false));
+        importService = new NewsImportService(newsBatchWriter, authorRepository, searchIndex, mock(DataVersion.class),
+                mock(NewsFeeds.class), mock(PlatformTransactionManager.class), 3);
+    }
+
+    @Test
+    void rejectsInvalidRowsAndImportsTheRestOfTheirBatch() throws IOException {
+        ImportReport report = importService.importNews(reader(
+                row(2, "Budget", "Text", "a1", null, null),
+                row(3, " ", "Text", "a1", null, null),
+                row(4, "Weather", "", "a1", null, null),
+                row(5, "Rates", "Text", "missing", null, null),
+                row(6, "Sport", "Text", null, "Nobody", null),
+                row(7, "Art", "Text", null, "Bob Ross", null),
+                row(8, "Music", "Text", null, "Ana Diaz", "yesterday"),
+                row(9, "Films", "Text", null, "Ana Diaz", "2024-01-02T10:00:00Z"),
+                new ImportRow(10, null, null, null, null, null, "Expected 3 columns, found 2")));
+
+        assertEquals(2, report.imported());
+        assertEquals(7, report.failed());
+        assertEquals(List.of(
+                new ImportReport.RowError(3, "The title cannot be empty"),
+                new ImportReport.RowError(4, "The body cannot be empty"),
+                new ImportReport.RowError(5, "Author ID not found"),
+                new ImportReport.RowError(6, "Author name not found"),
+                new ImportReport.RowError(7, "Author name is shared by 2 authors, use authorId"),
+                new ImportReport.RowError(8, "Invalid date, expected ISO-8601: yesterday"),
+                new ImportReport.RowError(10, "Expected 3 columns, found 2")), report.errors());
+        assertFalse(report.errorsTruncated());
+    }
+
+    @Test
+    void insertsOneJdbcBatchPerBatchOfRows() throws IOException {
+        ImportReport report = importService.importNews(reader(
+                row(2, "One", "Text", "a1", null, null),
+                row(3, "Two", "Text", "a2", null, null),
+                row(4, "Three", "Text", "a1", null, null),
+                row(5, "Four", "Text", null, "Ana Diaz", null)));
+
+        assertEquals(4, report.imported());
+        verify(newsBatchWriter, times(2)).insert(anyList());
+        verify(newsBatchWriter, never()).insert(any(NewsBatchWriter.Row.class));
+        // Authors are looked up once and remembered across batches
+        verify(authorRepository, times(1)).findViewsByIds(anyCollection());
+    }
+
+    @Test
+    void retriesARefusedBatchRowByRow() throws IOException {
+        doThrow(new DataIntegrityViolationException("batch")).when(newsBatchWriter).insert(anyList());
+        doThrow(new DataIntegrityViolationException("Data too long for column 'body'"))
+                .when(newsBatchWriter).insert(argThat((NewsBatchWriter.Row row) -> row != null && row.title().equals("Two")));
+
+        ImportReport report = importService.importNews(reader(
+                row(2, "One", "Text", "a1", null, null),
+                row(3, "Two", "Text", "a1", null, null),
+                row(4, "Three", "Text", "a1", null, null)));
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new ImportReport.RowError(3, "Rejected by the database: Data too long for column 'body'")),
+                report.errors());
+        verify(newsBatchWriter, times(3)).insert(any(NewsBatchWriter.Row.class));
+
+        // Only the inserted rows are indexed
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<NewsView>> indexed = ArgumentCaptor.forClass(Collection.class);
+        verify(searchIndex).addAll(indexed.capture());
+        assertEquals(List.of("One", "Three"), indexed.getValue().stream().map(NewsView::title).toList());
+    }
+
+    private static ImportRow row(long line, String title, String body, String authorId, String authorName, String date) {
+        return new ImportRow(line, title, body, authorId, authorName, date, null);
+    }
+
+    private static NewsRowReader reader(ImportRow... rows) {
+        Iterator<ImportRow> iterator = List.of(rows).iterator();
+        return new NewsRowReader() {
+            @Override
+            public ImportRow next() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static List<AuthorView> authors(Collection<String> keys, boolean byId) {
+        List<AuthorView> found = new ArrayList<>();
+        for (AuthorView author : List.of(ANA, BOB, OTHER_BOB)) {
+            if (keys.contains(byId ? author.id() : author.name())) {
+                found.add(author);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,163 @@
+package com.egg.news.services;
+
+import com.egg.news.cache.DataVersion;
+import com.egg.news.dto.CursorPage;
+import com.egg.news.dto.NewsCursor;
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.dto.NewsView;
+import com.egg.news.feeds.NewsFeeds;
+import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.repositories.NewsRepository;
+import com.egg.news.search.NewsSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Next and previous tokens of keyset and relevance-ranked pages, with a page size of 2.
+ */
+class NewsServicePaginationTests {
+
+    private static final int PAGE_SIZE = 2;
+
+    // Newest first, as the listing shows them
+    private static final NewsSummary N5 = summary("5", 5000);
+    private static final NewsSummary N4 = summary("4", 4000);
+    private static final NewsSummary N3 = summary("3", 3000);
+    private static final NewsSummary N2 = summary("2", 2000);
+
+    private NewsRepository newsRepository;
+    private NewsService newsService;
+
+    @BeforeEach
+    void setUp() {
+        newsRepository = mock(NewsRepository.class);
+        newsService = new NewsService(newsRepository, mock(AuthorRepository.class), mock(NewsSearchIndex.class),
+                mock(DataVersion.class), mock(NewsFeeds.class), PAGE_SIZE, 1000);
+    }
+
+    @Test
+    void firstPageHasNextButNoPrevious() {
+        when(newsRepository.getListNewsAfter(eq(NewsCursor.START.date()), eq(""), any()))
+                .thenReturn(List.of(N5, N4, N3));
+
+        CursorPage<NewsSummary> page = newsService.listNews(null, null);
+
+        assertEquals(List.of(N5, N4), page.items());
+        assertEquals(cursorOf(N4), page.next());
+        assertNull(page.previous());
+    }
+
+    @Test
+    void lastPageHasPreviousButNoNext() {
+        when(newsRepository.getListNewsAfter(eq(N4.date()), eq(N4.id()), any()))
+                .thenReturn(List.of(N3, N2));
+
+        CursorPage<NewsSummary> page = newsService.listNews(cursorOf(N4), null);
+
+        assertEquals(List.of(N3, N2), page.items());
+        assertNull(page.next());
+        assertEquals(cursorOf(N3), page.previous());
+    }
+
+    @Test
+    void fetchesOneRowMoreThanThePage() {
+        newsService.listNews(null, null);
+
+        verify(newsRepository).getListNewsAfter(any(), any(), eq(PageRequest.of(0, PAGE_SIZE + 1)));
+    }
+
+    @Test
+    void movingBackReversesRowsAndStopsAtTheFirstPage() {
+        // Rows newer than N3, oldest first
+        when(newsRepository.getListNewsBefore(eq(N3.date()), eq(N3.id()), any()))
+                .thenReturn(new ArrayList<>(List.of(N4, N5)));
+
+        CursorPage<NewsSummary> page = newsService.listNews(null, cursorOf(N3));
+
+        assertEquals(List.of(N5, N4), page.items());
+        assertEquals(cursorOf(N4), page.next());
+        assertNull(page.previous());
+    }
+
+    @Test
+    void movingBackFromDeepKeepsAPrevious() {
+        when(newsRepository.getListNewsBefore(eq(N2.date()), eq(N2.id()), any()))
+                .thenReturn(new ArrayList<>(List.of(N3, N4, N5)));
+
+        CursorPage<NewsSummary> page = newsService.listNews(null, cursorOf(N2));
+
+        assertEquals(List.of(N4, N3), page.items());
+        assertEquals(cursorOf(N3), page.next());
+        assertEquals(cursorOf(N4), page.previous());
+    }
+
+    @Test
+    void malformedTokensStartFromTheTop() {
+        when(newsRepository.getListNewsAfter(eq(NewsCursor.START.date()), eq(""), any()))
+                .thenReturn(List.of(N5));
+
+        CursorPage<NewsSummary> page = newsService.listNews("garbage", "???");
+
+        assertEquals(List.of(N5), page.items());
+        assertNull(page.next());
+    }
+
+    @Test
+    void emptyListingHasNoTokens() {
+        CursorPage<NewsSummary> page = newsService.listNews(null, null);
+
+        assertEquals(List.of(), page.items());
+        assertNull(page.next());
+        assertNull(page.previous());
+    }
+
+    @Test
+    void rankedPagesWalkTheSearchResults() {
+        NewsSearchIndex searchIndex = new NewsSearchIndex();
+        for (int i = 1; i <= 5; i++) {
+            searchIndex.index(new NewsView(String.valueOf(i), "Budget", "", new Date(i * 1000L), "author", "Ana Diaz"));
+        }
+        searchIndex.markReady();
+        newsService = new NewsService(newsRepository, mock(AuthorRepository.class), searchIndex,
+                mock(DataVersion.class), mock(NewsFeeds.class), PAGE_SIZE, 1000);
+        when(newsRepository.findSummariesByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> summary(id, Long.parseLong(id) * 1000)).toList();
+        });
+
+        CursorPage<NewsSummary> first = newsService.searchNews("budget", null, null, null);
+        CursorPage<NewsSummary> second = newsService.searchNews("budget", null, first.next(), null);
+        CursorPage<NewsSummary> last = newsService.searchNews("budget", null, second.next(), null);
+        CursorPage<NewsSummary> back = newsService.searchNews("budget", null, null, last.previous());
+
+        assertEquals(List.of(N5, N4), first.items());
+        assertNull(first.previous());
+        assertEquals(List.of(N3, N2), second.items());
+        assertEquals(List.of("1"), last.items().stream().map(NewsSummary::id).toList());
+        assertNull(last.next());
+        assertEquals(List.of(N3, N2), back.items());
+    }
+
+    private static NewsSummary summary(String id, long time) {
+        return new NewsSummary(id, "Title " + id, "Excerpt " + id, new Date(time), "author", "Ana Diaz");
+    }
+
+    private static String cursorOf(NewsSummary news) {
+        return NewsCursor.encode(news.date(), news.id());
+    }
+}
@@ -0,0 +1,92 @@
+package com.egg.news.services;
+
+import com.egg.news.cache.DataVersion;
+import com.egg.news.dto.NewsSummary;
+import com.egg.news.dto.NewsView;
+import com.egg.news.entities.Author;
+import com.egg.news.entities.News;
+import com.egg.news.exceptions.UserInputException;
+import com.egg.news.feeds.NewsFeeds;
+import com.egg.news.repositories.AuthorRepository;
+import com.egg.news.repositories.NewsRepository;
+import com.egg.news.search.NewsSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Edits of news articles and what they publish to the feeds and the search index.
+ */
+class NewsServiceUpdateTests {
+
+    private NewsRepository newsRepository;
+    private NewsFeeds newsFeeds;
+    private NewsSearchIndex searchIndex;
+    private NewsService newsService;
+
+    @BeforeEach
+    void setUp() {
+        newsRepository = mock(NewsRepository.class);
+        newsFeeds = mock(NewsFeeds.class);
+        searchIndex = new NewsSearchIndex();
+        newsService = new NewsService(newsRepository, mock(AuthorRepository.class), searchIndex,
+                mock(DataVersion.class), newsFeeds, 2, 1000);
+    }
+
+    @Test
+    void editPublishesTheVisibleArticle() {
+        when(newsRepository.findById("a")).thenReturn(Optional.of(news("a", true)));
+
+        newsService.setNews("a", "New title", "New body", "author");
+
+        verify(newsFeeds).onSaved(any(NewsSummary.class));
+    }
+
+    @Test
+    void editOfADeletedArticleLeavesTheFeedsUntouched() {
+        when(newsRepository.findById("a")).thenReturn(Optional.of(news("a", false)));
+
+        assertThrows(UserInputException.class, () -> newsService.setNews("a", "New title", "New body", "author"));
+
+        verifyNoInteractions(newsFeeds);
+        verify(newsRepository, never()).save(any());
+    }
+
+    @Test
+    void editOfADeletedArticleIsNotReindexed() {
+        searchIndex.index(new NewsView("b", "Budget", "", new Date(2000), "author", "Ana Diaz"));
+        when(newsRepository.findById("a")).thenReturn(Optional.of(news("a", false)));
+
+        assertThrows(UserInputException.class, () -> newsService.setNews("a", "Budget", "New body", "author"));
+
+        // A hidden match would take a rank slot and be dropped when the page is loaded
+        NewsSearchIndex.SearchResult result = searchIndex.search("budget", null, 10);
+        assertEquals(1, result.total());
+        assertEquals(1, searchIndex.size());
+    }
+
+    private static News news(String id, boolean visible) {
+        Author author = new Author();
+        author.setId("author");
+        author.setName("Ana Diaz");
+        News news = new News();
+        news.setId(id);
+        news.setTitle("Title");
+        news.setBody("Body");
+        news.setDate(new Date(1000));
+        news.setAuthor(author);
+        news.setStatus(visible);
+        return news;
+    }
+}
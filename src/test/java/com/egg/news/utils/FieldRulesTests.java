@@ -0,0 +1,128 @@
+package com.egg.news.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldRulesTests {
+
+    private static final FieldRules PASSWORD = FieldRules.builder()
+            .notNull("null")
+            .minLength(8, "short")
+            .requireDigit("digit")
+            .requireLowercase("case")
+            .requireUppercase("case")
+            .requireAnyOf(FieldRules.Chars.of("!@#"), "special")
+            .build();
+
+    private static final FieldRules EMAIL = FieldRules.builder()
+            .exactlyOne('@', "one @")
+            .headLength(1, 3, "head")
+            .tailLength(1, 5, "tail")
+            .build();
+
+    @Test
+    void validValuesFailNothing() {
+        assertEquals(0, PASSWORD.check("Abcdef1!"));
+        assertTrue(PASSWORD.isValid("Abcdef1!"));
+        assertEquals(0, EMAIL.check("abc@d.com"));
+    }
+
+    @Test
+    void eachFailedRuleSetsItsOwnBit() {
+        int shortOnly = PASSWORD.check("Ab1!");
+        int digitOnly = PASSWORD.check("Abcdefg!");
+        int both = PASSWORD.check("Abc!");
+
+        assertNotEquals(0, shortOnly);
+        assertNotEquals(0, digitOnly);
+        assertEquals(0, shortOnly & digitOnly);
+        assertEquals(shortOnly | digitOnly, both);
+    }
+
+    @Test
+    void undeclaredRulesNeverFail() {
+        FieldRules maxOnly = FieldRules.builder().maxLength(3, "long").build();
+
+        assertEquals(0, maxOnly.check(""));
+        assertEquals(0, maxOnly.check(null));
+        assertEquals(0, maxOnly.check("abc"));
+        assertEquals(List.of("long"), describe(maxOnly, "abcd"));
+    }
+
+    @Test
+    void nullOnlyFailsTheNullRules() {
+        assertEquals(List.of("null"), describe(PASSWORD, null));
+
+        FieldRules notBlank = FieldRules.builder().notBlank("blank").minLength(2, "short").build();
+        assertEquals(List.of("blank"), describe(notBlank, null));
+    }
+
+    @Test
+    void blankMatchesStringTrim() {
+        FieldRules notBlank = FieldRules.builder().notBlank("blank").build();
+
+        for (String value : new String[]{"", " ", "\t\n", "\u0000 ", " x ", " "}) {
+            assertEquals(value.trim().isEmpty(), !notBlank.isValid(value), () -> "[" + value + "]");
+        }
+    }
+
+    @Test
+    void sidesOfTheSeparatorAreOnlyCheckedWhenItAppearsOnce() {
+        assertEquals(List.of("one @"), describe(EMAIL, "abcdef"));
+        assertEquals(List.of("one @"), describe(EMAIL, "abcdef@@ghijklm"));
+        assertEquals(List.of("head"), describe(EMAIL, "@d.com"));
+        assertEquals(List.of("head", "tail"), describe(EMAIL, "abcd@d.comm.x"));
+        assertEquals(List.of("tail"), describe(EMAIL, "abc@"));
+    }
+
+    @Test
+    void onlyAllowedCharactersPass() {
+        FieldRules name = FieldRules.builder()
+                .onlyCharacters(FieldRules.LETTERS.or(FieldRules.Chars.of(" ")), "letters")
+                .build();
+
+        assertTrue(name.isValid("Ana Diaz"));
+        assertFalse(name.isValid("Ana_Diaz"));
+        // Character classes are ASCII, as in [a-zA-Z ]
+        assertFalse(name.isValid("Ana Díaz"));
+    }
+
+    @Test
+    void charsHoldBothHalvesOfAscii() {
+        FieldRules.Chars chars = FieldRules.Chars.of("!0A~");
+
+        assertTrue(chars.contains('!'));
+        assertTrue(chars.contains('0'));
+        assertTrue(chars.contains('A'));
+        assertTrue(chars.contains('~'));
+        assertFalse(chars.contains('B'));
+        assertFalse(chars.contains('Ā'));
+        assertThrows(IllegalArgumentException.class, () -> FieldRules.Chars.of("ñ"));
+    }
+
+    @Test
+    void rulesSharingAMessageReportItOnce() {
+        // Missing both cases, then only the uppercase one
+        assertEquals(List.of("digit", "case"), describe(PASSWORD, "!!!!!!!!"));
+        assertEquals(List.of("case"), describe(PASSWORD, "abcdef1!"));
+    }
+
+    @Test
+    void messagesFollowTheDeclarationOrderOfRuleKinds() {
+        assertEquals(List.of("short", "digit", "case", "special"), describe(PASSWORD, ""));
+    }
+
+    private static List<String> describe(FieldRules rules, String value) {
+        List<String> messages = new ArrayList<>();
+        rules.describe(rules.check(value), messages);
+        return messages;
+    }
+}
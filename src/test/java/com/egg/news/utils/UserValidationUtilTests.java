@@ -0,0 +1,80 @@
+package com.egg.news.utils;
+
+import com.egg.news.exceptions.UserInputException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Inputs with a single violation report the message the regular expression version threw.
+ */
+class UserValidationUtilTests {
+
+    private static final String NAME = "Ana Diaz";
+    private static final String EMAIL = "ana@example.com";
+    private static final String PASSWORD = "Secret12!";
+
+    @Test
+    void acceptsValidInput() {
+        assertDoesNotThrow(() -> UserValidationUtil.validateUser(NAME, EMAIL, PASSWORD, PASSWORD));
+    }
+
+    @Test
+    void nameViolations() {
+        assertViolations(List.of("Name cannot be null"), null, EMAIL, PASSWORD, PASSWORD);
+        assertViolations(List.of("Name must be at least 2 characters long"), "A", EMAIL, PASSWORD, PASSWORD);
+        assertViolations(List.of("Name can only contain letters and spaces"), "Ana_Diaz", EMAIL, PASSWORD, PASSWORD);
+    }
+
+    @Test
+    void passwordViolations() {
+        assertViolations(List.of("Passwords should match"), NAME, EMAIL, PASSWORD, PASSWORD + "x");
+        assertViolations(List.of("Passwords cannot be null"), NAME, EMAIL, null, null);
+        assertViolations(List.of("Password must be at least 8 characters long"), NAME, EMAIL, "Sec12!", "Sec12!");
+        assertViolations(List.of("Password must contain at least one digit"), NAME, EMAIL, "Secrets!", "Secrets!");
+        assertViolations(List.of("Password must contain at least one uppercase and one lowercase letter"),
+                NAME, EMAIL, "secret12!", "secret12!");
+        assertViolations(List.of("Password must contain at least one special character (!@#$%^&*())"),
+                NAME, EMAIL, "Secret123", "Secret123");
+    }
+
+    @Test
+    void emailViolations() {
+        assertViolations(List.of("Email cannot be null"), NAME, null, PASSWORD, PASSWORD);
+        assertViolations(List.of("Email must contain one '@' character"), NAME, "ana.example.com", PASSWORD, PASSWORD);
+        assertViolations(List.of("Email must contain one '@' character"), NAME, "ana@ex@ample.com", PASSWORD, PASSWORD);
+        assertViolations(List.of("Local part of email must be between 1 and 64 characters"), NAME, "@example.com", PASSWORD, PASSWORD);
+        assertViolations(List.of("Local part of email must be between 1 and 64 characters"),
+                NAME, "a".repeat(65) + "@example.com", PASSWORD, PASSWORD);
+        assertViolations(List.of("Domain part of email must be between 1 and 255 characters"),
+                NAME, "ana@" + "e".repeat(256), PASSWORD, PASSWORD);
+    }
+
+    @Test
+    void missingBothCasesIsReportedOnce() {
+        assertViolations(List.of("Password must contain at least one uppercase and one lowercase letter"),
+                NAME, EMAIL, "12345678!", "12345678!");
+    }
+
+    @Test
+    void reportsEveryViolationInFieldOrder() {
+        assertViolations(List.of(
+                        "Name must be at least 2 characters long",
+                        "Name can only contain letters and spaces",
+                        "Passwords should match",
+                        "Password must contain at least one digit",
+                        "Password must contain at least one special character (!@#$%^&*())",
+                        "Email must contain one '@' character"),
+                "1", "ana", "Password", "other");
+    }
+
+    private static void assertViolations(List<String> expected, String name, String email, String password, String password2) {
+        UserInputException exception = assertThrows(UserInputException.class,
+                () -> UserValidationUtil.validateUser(name, email, password, password2));
+        assertEquals(expected, exception.getViolations());
+    }
+}